@@ -0,0 +1,128 @@
+package org.userservice.user_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.userservice.user_service.exception.PasswordHashingBusyException;
+import org.userservice.user_service.properties.PasswordHashingProperties;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder that runs the delegate (BCrypt) on a small, core-sized pool
+ * with a bounded queue. Hashing can then use at most that many CPUs, and when the
+ * queue is full callers fail fast with {@link PasswordHashingBusyException}
+ * instead of piling up on Tomcat threads and starving cheap reads.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        int threads = poolSize(properties);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().toSeconds());
+
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .description("Time a hashing task waited for a worker")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        meterRegistry.gauge("password.hash.queue.size", executor, e -> e.getQueue().size());
+
+        log.info("Password hashing pool started with threads={}, queueCapacity={}", threads, properties.getQueueCapacity());
+    }
+
+    // Worker threads for the given settings; 0 means one per available processor
+    public static int poolSize(PasswordHashingProperties properties) {
+        return properties.getThreads() > 0
+                ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Running plus queued hashing tasks
+    int inFlight() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Password hashing queue full, rejecting request");
+            throw new PasswordHashingBusyException("Too many concurrent authentication requests", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw new PasswordHashingBusyException("Authentication is taking too long, try again later", retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing was interrupted", retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -5,21 +5,21 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.userservice.user_service.exception.SecurityExceptionHandler;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.service.jwt.JwtClaims;
 import org.userservice.user_service.service.jwt.JwtService;
+import org.userservice.user_service.service.user_details.CustomUserDetails;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -27,13 +27,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final SecurityExceptionHandler securityExceptionHandler;
+    private final RevokedUserIndex revokedUserIndex;
+    private final AuthProperties authProperties;
 
     public JwtAuthenticationFilter(JwtService jwtService,
                                    UserDetailsService userDetailsService,
-                                   SecurityExceptionHandler securityExceptionHandler) {
+                                   SecurityExceptionHandler securityExceptionHandler,
+                                   RevokedUserIndex revokedUserIndex,
+                                   AuthProperties authProperties) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.securityExceptionHandler = securityExceptionHandler;
+        this.revokedUserIndex = revokedUserIndex;
+        this.authProperties = authProperties;
     }
 
     @Override
@@ -43,7 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Skip authentication for public endpoints
         return  path.startsWith("/v3/api-docs") ||
                 path.startsWith("/swagger-ui") ||
-                path.equals("/swagger-ui.html");
+                path.equals("/swagger-ui.html") ||
+                path.equals("/actuator/health") ||
+                path.startsWith("/actuator/health/");
     }
 
 
@@ -70,14 +78,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            String email = jwtService.extractEmail(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            // Signature is verified once here; downstream code reads the claims from the request
+            JwtClaims claims = jwtService.parseClaims(token);
 
-            String role = jwtService.extractRole(token);
-            List<SimpleGrantedAuthority> authorities =
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+            // Blacklisted or deleted users are rejected from memory, no DB read needed
+            if (revokedUserIndex.isRevoked(claims.userId())) {
+                securityExceptionHandler.commence(request, response,
+                        new DisabledException("User account is inactive or blacklisted"));
+                return;
+            }
+
+            UserDetails userDetails = authProperties.isClaimsOnly()
+                    ? new CustomUserDetails(claims)
+                    : userDetailsService.loadUserByUsername(claims.email());
 
-            if (!jwtService.isTokenValid(token, userDetails)) {
+            if (!jwtService.isTokenValid(claims, userDetails)) {
                 securityExceptionHandler.commence(request, response,
                         new BadCredentialsException("Invalid JWT token"));
                 return;
@@ -86,6 +101,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authToken);
+            request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
 
             filterChain.doFilter(request, response);
 
@@ -1,10 +1,14 @@
 package org.userservice.user_service.config;
 
+import io.jsonwebtoken.security.Keys;
 import org.common.utils.JwtUtil;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
 @Configuration
 public class JwtConfig {
 
@@ -18,4 +22,19 @@ public class JwtConfig {
     public JwtUtil jwtUtil() {
         return new JwtUtil(secret, expiration);
     }
+
+    // Used to verify a token and read all its claims in one pass
+    @Bean
+    public SecretKey jwtSigningKey() {
+        return signingKey(secret);
+    }
+
+    /**
+     * The HMAC key JwtUtil signs with. JwtUtil lives in common-utils and does not expose its
+     * key, so JwtConfigTest issues a token with the real JwtUtil and verifies it with this key;
+     * a change to either derivation fails that test.
+     */
+    public static SecretKey signingKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
 }
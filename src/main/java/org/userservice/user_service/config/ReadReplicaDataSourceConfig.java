@@ -0,0 +1,71 @@
+package org.userservice.user_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.userservice.user_service.properties.ReadReplicaProperties;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces Boot's single datasource with a primary (spring.datasource) plus the read
+ * replicas in service.read-replicas. Each pool is named (primary, replica-1, ...) and
+ * reports hikaricp.* metrics tagged with that name.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "service.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSourceConfig.class);
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReadReplicaProperties replicaProperties,
+                                                             MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(metrics);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(node.getUrl())
+                    .username(node.getUsername())
+                    .password(node.getPassword())
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            if (node.getMaximumPoolSize() != null) {
+                replica.setMaximumPoolSize(node.getMaximumPoolSize());
+            }
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        return new ReplicaRoutingDataSource(primary, replicas, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,115 @@
+package org.userservice.user_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to the replicas (round robin) and everything
+ * else to the primary. Once a request has committed a write, its later reads stay on the
+ * primary too, so a request never reads from a replica that may not have its own write yet.
+ * Reads that merely ran in a read-write transaction do not count as writes.
+ *
+ * Marking a transaction read-only is therefore a promise that it can live with replica lag.
+ * That holds for the admin list, search and count queries and the export, which show a
+ * moment that is already past, and for the registered-email filter rebuild, where the unique
+ * index stays the real check. It does not hold for the change feed (a cursor handed out past
+ * unreplicated rows skips them for good) or the trigram index rebuild (writes just before it
+ * starts are not replayed) or for credential checks at login and refresh, so those use
+ * read-write transactions to stay on the primary. User entity loads stay on the replicas
+ * but do not put what they read into the second-level cache.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager opens the
+ * connection before it publishes the read-only flag, so routing has to wait for the first
+ * statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String USED_PRIMARY = ReplicaRoutingDataSource.class.getName() + ".USED_PRIMARY";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+
+        // Only a committed write pins the request; a read-write transaction that just reads does not
+        DataSource trackedPrimary = new WriteTrackingDataSource(primary, ReplicaRoutingDataSource::markRequestUsedPrimary);
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, trackedPrimary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(trackedPrimary);
+
+        this.primaryRoutes = Counter.builder("datasource.routing.connections")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaRoutes = Counter.builder("datasource.routing.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+    }
+
+    /** Whether a statement issued now, in the current transaction, would go to a replica. */
+    public boolean routesReadToReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && readOnlyReadsGoToReplica();
+    }
+
+    /** Whether a read-only transaction started now, in the current request, would go to a replica. */
+    public boolean readOnlyReadsGoToReplica() {
+        return !replicaKeys.isEmpty() && !requestUsedPrimary();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (routesReadToReplica()) {
+            replicaRoutes.increment();
+            return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+        }
+        primaryRoutes.increment();
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Outside a web request (startup, background threads) there is nothing to remember
+    private static boolean requestUsedPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(USED_PRIMARY, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static void markRequestUsedPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(USED_PRIMARY, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
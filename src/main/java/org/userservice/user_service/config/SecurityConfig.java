@@ -1,5 +1,6 @@
 package org.userservice.user_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.config.annotation.authentication.configuration.*;
@@ -13,6 +14,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.userservice.user_service.exception.SecurityExceptionHandler;
+import org.userservice.user_service.properties.PasswordHashingProperties;
 import org.userservice.user_service.service.user_details.CustomUserDetailsService;
 
 @Configuration
@@ -37,9 +39,11 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    // BCrypt runs on a bounded pool so login/registration spikes cannot take every request thread.
+    // Static because CustomUserDetailsService, which this class depends on, injects it
+    @Bean(destroyMethod = "shutdown")
+    public static PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), properties, meterRegistry);
     }
 
     @Bean
@@ -49,6 +53,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // Probes call health without a token; metrics stay admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
@@ -0,0 +1,52 @@
+package org.userservice.user_service.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.entity.UserEntity;
+
+import java.util.List;
+
+/**
+ * Users used to get IDENTITY ids. On MySQL the users_seq generator is emulated with a
+ * one-row table that Hibernate creates starting at 1, which would hand out ids that
+ * already exist. This moves it past max(users.id) once, before any insert can run.
+ */
+@Component
+public class UserIdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes sure ddl-auto has created users_seq first
+    public UserIdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        List<Long> nextValues;
+        try {
+            nextValues = jdbcTemplate.query("select next_val from users_seq", (rs, rowNum) -> rs.getLong(1));
+        } catch (DataAccessException ex) {
+            // Native sequence (H2, PostgreSQL): not a table, nothing to align
+            log.debug("users_seq is not an emulation table: {}", ex.getMessage());
+            return;
+        }
+        if (nextValues.isEmpty()) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from users", Long.class);
+        long floor = maxId + UserEntity.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("update users_seq set next_val = ? where next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("Moved users_seq to {} past existing max id={}", floor, maxId);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.userservice.user_service.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.entity.UserEntity;
+
+/**
+ * Fills email_norm / username_norm for rows written before those columns existed.
+ * Runs at startup, before requests are served, because email lookups only use
+ * email_norm. Rows are updated in id ranges so no single statement locks the whole table.
+ * Once every row is filled this is a single cheap query.
+ */
+@Component
+public class UserNormalizedColumnsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UserNormalizedColumnsBackfill.class);
+
+    private static final long ID_RANGE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Depending on the EntityManagerFactory makes sure ddl-auto has added the columns first
+    public UserNormalizedColumnsBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        Long missing = jdbcTemplate.queryForObject(
+                "select count(*) from users where email_norm is null or username_norm is null", Long.class);
+        if (missing == null || missing == 0) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from users", Long.class);
+        long updated = 0;
+        for (long from = 0; from <= maxId; from += ID_RANGE) {
+            updated += jdbcTemplate.update(
+                    "update users set email_norm = lower(trim(email)), username_norm = lower(trim(username)) "
+                            + "where id >= ? and id < ? and (email_norm is null or username_norm is null)",
+                    from, from + ID_RANGE);
+        }
+        log.info("Backfilled normalized email/username for {} users", updated);
+        // Plain JDBC bypasses Hibernate, so drop any cached copies of the rows just changed
+        entityManagerFactory.getCache().evict(UserEntity.class);
+    }
+}
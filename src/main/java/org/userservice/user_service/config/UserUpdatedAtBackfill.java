@@ -0,0 +1,50 @@
+package org.userservice.user_service.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.entity.UserEntity;
+
+/**
+ * Gives rows written before updated_at existed their creation time, so the change
+ * feed (which orders by updated_at) sees them on a consumer's first full pass.
+ * Same id-range batching as UserNormalizedColumnsBackfill.
+ */
+@Component
+public class UserUpdatedAtBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UserUpdatedAtBackfill.class);
+
+    private static final long ID_RANGE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Depending on the EntityManagerFactory makes sure ddl-auto has added the column first
+    public UserUpdatedAtBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        Long missing = jdbcTemplate.queryForObject("select count(*) from users where updated_at is null", Long.class);
+        if (missing == null || missing == 0) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from users", Long.class);
+        long updated = 0;
+        for (long from = 0; from <= maxId; from += ID_RANGE) {
+            updated += jdbcTemplate.update(
+                    "update users set updated_at = created_at where id >= ? and id < ? and updated_at is null",
+                    from, from + ID_RANGE);
+        }
+        log.info("Backfilled updated_at for {} users", updated);
+        // Plain JDBC bypasses Hibernate, so drop any cached copies of the rows just changed
+        entityManagerFactory.getCache().evict(UserEntity.class);
+    }
+}
@@ -0,0 +1,143 @@
+package org.userservice.user_service.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Tells the routing data source when a connection to the primary actually changed data.
+ * The first data-changing statement of a transaction schedules the callback for after
+ * commit (or runs it at once under auto-commit); a transaction that only reads, or rolls
+ * back, never triggers it.
+ */
+class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> READ_KEYWORDS = Set.of("select", "with", "values", "table", "show", "explain");
+
+    private final Runnable onCommittedWrite;
+
+    WriteTrackingDataSource(DataSource target, Runnable onCommittedWrite) {
+        super(target);
+        this.onCommittedWrite = onCommittedWrite;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    static boolean isWrite(String sql) {
+        String statement = sql.stripLeading();
+        // Hibernate puts its SQL comment first when use_sql_comments is on
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                break;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        while (statement.startsWith("(")) {
+            statement = statement.substring(1).stripLeading();
+        }
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return !READ_KEYWORDS.contains(statement.substring(0, end).toLowerCase(Locale.ROOT));
+    }
+
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        // Since the last commit or rollback; one callback per transaction is enough
+        private boolean wrote;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "prepareStatement" -> {
+                    if (isWrite((String) args[0])) {
+                        wrote();
+                    }
+                }
+                // Stored procedures may write; assume they do
+                case "prepareCall" -> wrote();
+                case "commit", "rollback" -> wrote = false;
+                default -> {
+                }
+            }
+            Object result = call(target, method, args);
+            if (result instanceof Statement statement && "createStatement".equals(method.getName())) {
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                        new Class<?>[]{Statement.class}, new StatementHandler(statement, this));
+            }
+            return result;
+        }
+
+        void wrote() {
+            if (!wrote) {
+                wrote = true;
+                afterCommit(onCommittedWrite);
+            }
+        }
+    }
+
+    // Plain statements carry their SQL on execute rather than on creation
+    private record StatementHandler(Statement target, ConnectionHandler connection) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ((name.startsWith("execute") || "addBatch".equals(name))
+                    && args != null && args.length > 0 && args[0] instanceof String sql && isWrite(sql)) {
+                connection.wrote();
+            }
+            return call(target, method, args);
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -9,13 +9,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.userservice.user_service.dto.request.user.UserUpdateRequestDTO;
+import org.userservice.user_service.dto.response.page.CursorPageDTO;
+import org.userservice.user_service.dto.response.page.SlicePageDTO;
 import org.userservice.user_service.dto.response.user.UserResponseDTO;
 import org.userservice.user_service.exception.UnauthorizedAccessException;
 import org.userservice.user_service.validator.AuthValidator;
 import org.userservice.user_service.service.UserService;
+import org.userservice.user_service.spec.UserField;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/users")
@@ -32,7 +40,8 @@ public class AdminController {
     }
 
     /** Get all users with pagination and filtering */
-    @Operation(summary = "Get all users", description = "Retrieve a paginated and filtered list of users (admin only).")
+    @Operation(summary = "Get all users", description = "Retrieve a paginated and filtered list of users. Age bounds are inclusive; "
+            + "the creation window includes createdFrom and excludes createdTo (admin only).")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of users",
                     content = @Content(mediaType = "application/json",
@@ -48,23 +57,152 @@ public class AdminController {
             @RequestParam(required = false) String email,
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
 
             // pagination
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
-        String token = authValidator.extractToken(request);
-        if (!authValidator.isAdmin(token)) {
+        if (!authValidator.isAdmin(request)) {
             throw new UnauthorizedAccessException("You are not authorized to access this resource");
         }
 
         Page<UserResponseDTO> users = userService.getUsers(
-                username, email, active, role, page, size
+                UserFilter.of(username, email, active, role, minAge, maxAge, createdFrom, createdTo), page, size
+        );
+
+        return ResponseEntity.ok(users);
+    }
+
+
+    /** Keyset pagination: selected when a cursor parameter is present (empty for the first page) */
+    @Operation(summary = "Get users by cursor",
+            description = "Same filters as the paginated list, but pages by an opaque cursor ordered by createdAt and id. "
+                    + "Pass cursor= (empty) for the first page and nextCursor afterwards. Cost does not grow with depth (admin only).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of users",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsersByCursor(
+            HttpServletRequest request,
+
+            // filtering
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+
+            // pagination
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+
+        CursorPageDTO<UserResponseDTO> users = userService.getUsersByCursor(
+                UserFilter.of(username, email, active, role, minAge, maxAge, createdFrom, createdTo), cursor, size
+        );
+
+        return ResponseEntity.ok(users);
+    }
+
+    /** Slice mode: no COUNT query, hasNext from one extra row, optional cached total */
+    @Operation(summary = "Get users as a slice",
+            description = "Same filters and paging as the paginated list, but without an exact total. "
+                    + "approximateTotal=true adds a cached, periodically refreshed count for the filter (admin only).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of users",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SlicePageDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping(params = {"mode=slice", "!cursor", "!fields"})
+    public ResponseEntity<SlicePageDTO<UserResponseDTO>> getUsersSlice(
+            HttpServletRequest request,
+
+            // filtering
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+
+            // pagination
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean approximateTotal
+    ) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+
+        SlicePageDTO<UserResponseDTO> users = userService.getUsersSlice(
+                UserFilter.of(username, email, active, role, minAge, maxAge, createdFrom, createdTo), page, size, approximateTotal
         );
 
         return ResponseEntity.ok(users);
     }
 
+    /** Sparse fieldset: only the requested columns are selected and serialized, in a slice page */
+    @Operation(summary = "Get selected user fields",
+            description = "Same filters and paging as the paginated list, but fields=id,username (any of id, username, "
+                    + "email, age, createdAt) narrows the query and the response to those properties. Returns a slice "
+                    + "page without an exact total; approximateTotal=true adds the cached count (admin only).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of users",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SlicePageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown or empty fields", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping(params = {"fields", "!cursor"})
+    public ResponseEntity<SlicePageDTO<Map<String, Object>>> getUserFields(
+            HttpServletRequest request,
+
+            // projection
+            @RequestParam String fields,
+
+            // filtering
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+
+            // pagination
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean approximateTotal
+    ) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+
+        SlicePageDTO<Map<String, Object>> users = userService.getUserFieldsSlice(
+                UserFilter.of(username, email, active, role, minAge, maxAge, createdFrom, createdTo),
+                UserField.parse(fields), page, size, approximateTotal
+        );
+
+        return ResponseEntity.ok(users);
+    }
 
     /** Get a single user by ID */
     @Operation(summary = "Get user by ID", description = "Retrieve a single user's details by their ID (admin only).")
@@ -80,8 +218,7 @@ public class AdminController {
     @GetMapping("/{userId}")
     public ResponseEntity<UserResponseDTO> getUserById(@PathVariable Long userId,
                                                        HttpServletRequest request) {
-        String token = authValidator.extractToken(request);
-        if (!authValidator.isAdmin(token)) {
+        if (!authValidator.isAdmin(request)) {
             logger.warn("Unauthorized attempt to access user with ID {}", userId);
             throw new UnauthorizedAccessException("You are not authorized to access this resource");
         }
@@ -106,8 +243,7 @@ public class AdminController {
     public ResponseEntity<UserResponseDTO> updateUser(@PathVariable Long userId,
                                                       @RequestBody UserUpdateRequestDTO dto,
                                                       HttpServletRequest request) {
-        String token = authValidator.extractToken(request);
-        if (!authValidator.isAdmin(token)) {
+        if (!authValidator.isAdmin(request)) {
             logger.warn("Unauthorized attempt to update user with ID {}", userId);
             throw new UnauthorizedAccessException("You are not authorized");
         }
@@ -129,7 +265,7 @@ public class AdminController {
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long userId, HttpServletRequest request) {
         String token = authValidator.extractToken(request);
-        if (!authValidator.isAdmin(token)) {
+        if (!authValidator.isAdmin(request)) {
             logger.warn("Unauthorized attempt to delete user with ID {}", userId);
             throw new UnauthorizedAccessException("You are not authorized");
         }
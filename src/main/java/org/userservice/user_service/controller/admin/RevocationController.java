@@ -0,0 +1,69 @@
+package org.userservice.user_service.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.userservice.user_service.dto.response.revocation.RevocationDeltaDTO;
+import org.userservice.user_service.dto.response.revocation.RevocationSnapshotDTO;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.validator.AuthValidator;
+
+@RestController
+@RequestMapping("/admin/users/revocations")
+public class RevocationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationController.class);
+
+    private final RevokedUserIndex revokedUserIndex;
+    private final AuthValidator authValidator;
+
+    public RevocationController(RevokedUserIndex revokedUserIndex, AuthValidator authValidator) {
+        this.revokedUserIndex = revokedUserIndex;
+        this.authValidator = authValidator;
+    }
+
+    @Operation(summary = "Revocation snapshot", description = "Returns every revoked user id and the index version. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot returned",
+                    content = @Content(schema = @Schema(implementation = RevocationSnapshotDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<RevocationSnapshotDTO> snapshot(HttpServletRequest request) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+        RevocationSnapshotDTO snapshot = revokedUserIndex.snapshot();
+        logger.info("Revocation snapshot served at epoch={} version={} with {} ids",
+                snapshot.epoch(), snapshot.version(), snapshot.revokedUserIds().size());
+        return ResponseEntity.ok(snapshot);
+    }
+
+    @Operation(summary = "Revocation delta", description = "Returns revocation changes after the given epoch and version. "
+            + "A position from another epoch (e.g. before a restart) gets snapshotRequired=true. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Delta returned, or snapshotRequired=true",
+                    content = @Content(schema = @Schema(implementation = RevocationDeltaDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping("/delta")
+    public ResponseEntity<RevocationDeltaDTO> delta(@RequestParam String epoch,
+                                                    @RequestParam long since,
+                                                    HttpServletRequest request) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+        RevocationDeltaDTO delta = revokedUserIndex.delta(epoch, since);
+        logger.debug("Revocation delta epoch={} since={} to={} snapshotRequired={}",
+                epoch, since, delta.toVersion(), delta.snapshotRequired());
+        return ResponseEntity.ok(delta);
+    }
+}
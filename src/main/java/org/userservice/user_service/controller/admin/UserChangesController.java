@@ -0,0 +1,49 @@
+package org.userservice.user_service.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.userservice.user_service.dto.response.user_changes.UserChangesPageDTO;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.user_changes.UserChangeFeed;
+import org.userservice.user_service.validator.AuthValidator;
+
+@RestController
+@RequestMapping("/admin/users/changes")
+public class UserChangesController {
+
+    private final UserChangeFeed userChangeFeed;
+    private final AuthValidator authValidator;
+
+    public UserChangesController(UserChangeFeed userChangeFeed, AuthValidator authValidator) {
+        this.userChangeFeed = userChangeFeed;
+        this.authValidator = authValidator;
+    }
+
+    @Operation(summary = "Users changed since a cursor",
+            description = "Creates, updates, blacklisting and deletes after the given cursor, oldest first, one entry per user. "
+                    + "Start with an empty since, then pass nextCursor. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes after the cursor",
+                    content = @Content(schema = @Schema(implementation = UserChangesPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<UserChangesPageDTO> getChanges(
+            @Parameter(description = "nextCursor of the previous call; empty for a full pass")
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size,
+            HttpServletRequest request) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+        return ResponseEntity.ok(userChangeFeed.changesSince(since, size));
+    }
+}
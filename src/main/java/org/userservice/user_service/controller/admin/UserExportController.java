@@ -0,0 +1,84 @@
+package org.userservice.user_service.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.user_export.UserExportFormat;
+import org.userservice.user_service.service.user_export.UserExportService;
+import org.userservice.user_service.spec.UserFilter;
+import org.userservice.user_service.validator.AuthValidator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/admin/users/export")
+public class UserExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportController.class);
+
+    private final UserExportService userExportService;
+    private final AuthValidator authValidator;
+
+    public UserExportController(UserExportService userExportService, AuthValidator authValidator) {
+        this.userExportService = userExportService;
+        this.authValidator = authValidator;
+    }
+
+    // Written synchronously to the response stream: no async timeout, nothing buffered in full
+    @Operation(summary = "Export users",
+            description = "Streams every user matching the filters (same as GET /admin/users) as NDJSON or CSV, "
+                    + "newest first, optionally gzip-compressed. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping
+    public void exportUsers(
+            @Parameter(description = "Filter by username (partial match)") @RequestParam(required = false) String username,
+            @Parameter(description = "Filter by email (partial match)") @RequestParam(required = false) String email,
+            @Parameter(description = "Filter by active status") @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Filter by role") @RequestParam(required = false) String role,
+            @Parameter(description = "Minimum age, inclusive") @RequestParam(required = false) Integer minAge,
+            @Parameter(description = "Maximum age, inclusive") @RequestParam(required = false) Integer maxAge,
+            @Parameter(description = "Created at or after (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(required = false) String format,
+            @Parameter(description = "Gzip-compress the body") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+
+        UserExportFormat exportFormat = UserExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.extension() + (gzip ? ".gz" : "") + "\"");
+
+        OutputStream out = response.getOutputStream();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        long rows = userExportService.export(UserFilter.of(username, email, active, role, minAge, maxAge, createdFrom, createdTo),
+                exportFormat, compressed != null ? compressed : out);
+        if (compressed != null) {
+            compressed.finish();
+        }
+        logger.info("Admin exported {} users as {}{}", rows, exportFormat, gzip ? " (gzip)" : "");
+    }
+}
@@ -0,0 +1,55 @@
+package org.userservice.user_service.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.userservice.user_service.dto.response.user_import.UserImportResultDTO;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.user_import.UserImportFormat;
+import org.userservice.user_service.service.user_import.UserImportService;
+import org.userservice.user_service.validator.AuthValidator;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/admin/users/import")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private final UserImportService userImportService;
+    private final AuthValidator authValidator;
+
+    public UserImportController(UserImportService userImportService, AuthValidator authValidator) {
+        this.userImportService = userImportService;
+        this.authValidator = authValidator;
+    }
+
+    // The body is read straight from the request stream, never buffered as a whole
+    @Operation(summary = "Bulk import users",
+            description = "Streams an NDJSON (application/x-ndjson) or CSV (text/csv) body of users in the register format. "
+                    + "Invalid or duplicate rows are reported and skipped. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see failures for skipped rows",
+                    content = @Content(schema = @Schema(implementation = UserImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported content type or missing CSV header", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @PostMapping(consumes = {UserImportFormat.NDJSON_MEDIA_TYPE, UserImportFormat.CSV_MEDIA_TYPE})
+    public ResponseEntity<UserImportResultDTO> importUsers(HttpServletRequest request) throws IOException {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+        UserImportFormat format = UserImportFormat.fromContentType(request.getContentType());
+        UserImportResultDTO result = userImportService.importUsers(request.getInputStream(), format);
+        logger.info("Admin imported {} of {} users ({} failed)", result.imported(), result.rows(), result.failed());
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,46 @@
+package org.userservice.user_service.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.userservice.user_service.dto.response.user_stats.UserStatsDTO;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
+import org.userservice.user_service.validator.AuthValidator;
+
+@RestController
+@RequestMapping("/admin/users/stats")
+public class UserStatsController {
+
+    private final UserStatsCounters userStatsCounters;
+    private final AuthValidator authValidator;
+
+    public UserStatsController(UserStatsCounters userStatsCounters, AuthValidator authValidator) {
+        this.userStatsCounters = userStatsCounters;
+        this.authValidator = authValidator;
+    }
+
+    // Served from memory, no query per request
+    @Operation(summary = "User statistics",
+            description = "Totals by status, role and age group. Maintained in memory and reconciled with "
+                    + "the database periodically. Admin only.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current statistics",
+                    content = @Content(schema = @Schema(implementation = UserStatsDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<UserStatsDTO> getStats(HttpServletRequest request) {
+        if (!authValidator.isAdmin(request)) {
+            throw new UnauthorizedAccessException("You are not authorized to access this resource");
+        }
+        return ResponseEntity.ok(userStatsCounters.snapshot());
+    }
+}
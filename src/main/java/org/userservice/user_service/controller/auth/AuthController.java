@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.userservice.user_service.dto.request.login.AuthRequestDTO;
+import org.userservice.user_service.dto.request.refresh.RefreshRequestDTO;
 import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
 import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
 import org.userservice.user_service.service.UserService;
@@ -59,4 +60,16 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access token and a new refresh token. The presented refresh token can only be used once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, reused or user blacklisted", content = @Content)
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshRequestDTO request) {
+        AuthResponseDTO response = userService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
 }
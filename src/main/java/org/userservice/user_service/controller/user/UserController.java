@@ -12,11 +12,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.userservice.user_service.dto.request.user.UserBatchRequestDTO;
 import org.userservice.user_service.dto.request.user.UserPatchRequestDTO;
+import org.userservice.user_service.dto.response.user.UserBatchResponseDTO;
 import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.service.jwt.JwtClaims;
+import org.userservice.user_service.spec.UserField;
 import org.userservice.user_service.validator.AuthValidator;
 import org.userservice.user_service.service.UserService;
 
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/users")
 public class UserController {
@@ -49,6 +56,45 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(summary = "Get selected user fields by ID",
+            description = "Like Get user by ID, but fields=id,username (any of id, username, email, age, createdAt) "
+                    + "reads and returns only those properties. Requires authorization.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User fields fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown or empty fields", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Unauthorized access", content = @Content),
+            @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+    })
+    @GetMapping(value = "/{userId}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getUserFields(@PathVariable Long userId,
+                                                             @RequestParam String fields,
+                                                             HttpServletRequest request) {
+        if (!authValidator.isAuthorized(request, userId)) {
+            logger.warn("Unauthorized access attempt to fetch user: userId={}", userId);
+            return ResponseEntity.status(403).build();
+        }
+        Set<UserField> selected = UserField.parse(fields);
+        logger.info("Fetching user fields by id={}, fields={}", userId, selected);
+        return ResponseEntity.ok(userService.getUserFieldsById(userId, selected));
+    }
+
+    @Operation(summary = "Get users by IDs", description = "Fetches many users in one call. Results follow the request order; "
+            + "ids the caller may not read are marked FORBIDDEN and missing ones NOT_FOUND.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users fetched",
+                    content = @Content(schema = @Schema(implementation = UserBatchResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "No ids or too many ids", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<UserBatchResponseDTO> getUsersBatch(@RequestBody @Valid UserBatchRequestDTO batchRequest,
+                                                              HttpServletRequest request) {
+        JwtClaims claims = authValidator.currentClaims(request);
+        logger.info("Fetching users in batch: count={}", batchRequest.ids().size());
+        UserBatchResponseDTO response = userService.getUsersByIds(batchRequest.ids(),
+                id -> authValidator.canAccess(claims, id));
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Partially update user", description = "Updates specified fields of a user. Only non-null fields in the request are updated.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User updated successfully",
@@ -0,0 +1,20 @@
+package org.userservice.user_service.dto.request.refresh;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(name = "RefreshRequestDTO", description = "Request payload to exchange a refresh token for new tokens")
+public class RefreshRequestDTO {
+
+    @NotBlank(message = "Refresh token is required")
+    @Schema(description = "Refresh token returned by login or a previous refresh", example = "q5Zl0n1v...", required = true)
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
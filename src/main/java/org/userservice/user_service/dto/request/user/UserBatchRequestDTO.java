@@ -0,0 +1,14 @@
+package org.userservice.user_service.dto.request.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(name = "UserBatchRequestDTO", description = "Ids of the users to look up in one call")
+public record UserBatchRequestDTO(
+        @NotEmpty(message = "At least one id is required")
+        @Schema(description = "User ids; results come back in this order", example = "[12, 7, 31]", required = true)
+        List<@NotNull(message = "Ids must not be null") Long> ids
+) {}
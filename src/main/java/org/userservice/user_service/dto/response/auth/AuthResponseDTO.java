@@ -14,12 +14,28 @@ public class AuthResponseDTO {
     @Schema(description = "ID of the authenticated user", example = "44", required = true)
     private Long userId;
 
+    @Schema(description = "Single-use refresh token for /api/auth/refresh", example = "q5Zl0n1v...")
+    private String refreshToken;
+
     public AuthResponseDTO(String token, String role, Long userId) {
         this.token = token;
         this.role = role;
         this.userId = userId;
     }
 
+    public AuthResponseDTO(String token, String role, Long userId, String refreshToken) {
+        this(token, role, userId);
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getRole() {
         return role;
     }
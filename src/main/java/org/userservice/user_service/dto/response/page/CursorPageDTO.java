@@ -0,0 +1,21 @@
+package org.userservice.user_service.dto.response.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "CursorPageDTO", description = "One page of a cursor-paginated list")
+public record CursorPageDTO<T>(
+        @Schema(description = "Items on this page")
+        List<T> content,
+
+        @Schema(description = "Requested page size", example = "10")
+        int size,
+
+        @Schema(description = "True when more items follow this page", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Opaque token to pass as 'cursor' for the next page; null on the last page",
+                example = "djF8MjAyNS0xMS0xNFQxMDozMDo1NXw0Mg")
+        String nextCursor
+) {}
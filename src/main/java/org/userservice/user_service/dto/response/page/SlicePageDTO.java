@@ -0,0 +1,24 @@
+package org.userservice.user_service.dto.response.page;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "SlicePageDTO", description = "One page of a list without an exact total count")
+public record SlicePageDTO<T>(
+        @Schema(description = "Items on this page")
+        List<T> content,
+
+        @Schema(description = "Zero-based page number", example = "0")
+        int page,
+
+        @Schema(description = "Requested page size", example = "10")
+        int size,
+
+        @Schema(description = "True when more items follow this page", example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Cached, possibly stale total for this filter; null unless approximateTotal=true",
+                example = "1048576")
+        Long approximateTotal
+) {}
@@ -0,0 +1,27 @@
+package org.userservice.user_service.dto.response.revocation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "RevocationDeltaDTO", description = "Changes to the revocation index since a given version")
+public record RevocationDeltaDTO(
+        @Schema(description = "Current index epoch; pass it as 'epoch' on the next call",
+                example = "6f1c2b9e-3d4a-4c1e-9b7a-0f2e5d8c1a34")
+        String epoch,
+
+        @Schema(description = "Version the caller asked for changes since", example = "40")
+        long fromVersion,
+
+        @Schema(description = "Current index version; pass it as 'since' on the next call", example = "42")
+        long toVersion,
+
+        @Schema(description = "True when the delta is no longer available or the epoch changed, and a full snapshot must be fetched", example = "false")
+        boolean snapshotRequired,
+
+        @Schema(description = "User ids revoked since fromVersion", example = "[17]")
+        List<Long> revokedUserIds,
+
+        @Schema(description = "User ids unblocked since fromVersion", example = "[3]")
+        List<Long> restoredUserIds
+) {}
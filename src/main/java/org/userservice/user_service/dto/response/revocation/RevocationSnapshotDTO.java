@@ -0,0 +1,18 @@
+package org.userservice.user_service.dto.response.revocation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "RevocationSnapshotDTO", description = "Full set of revoked user ids at a given index version")
+public record RevocationSnapshotDTO(
+        @Schema(description = "Index epoch; changes whenever the index is reloaded, e.g. on restart",
+                example = "6f1c2b9e-3d4a-4c1e-9b7a-0f2e5d8c1a34")
+        String epoch,
+
+        @Schema(description = "Index version this snapshot corresponds to", example = "42")
+        long version,
+
+        @Schema(description = "Ids of blacklisted or deleted users", example = "[3, 17, 256]")
+        List<Long> revokedUserIds
+) {}
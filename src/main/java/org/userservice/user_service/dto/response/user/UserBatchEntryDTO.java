@@ -0,0 +1,34 @@
+package org.userservice.user_service.dto.response.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "UserBatchEntryDTO", description = "Result for one requested id")
+public record UserBatchEntryDTO(
+        @Schema(description = "The requested id", example = "12")
+        Long id,
+
+        @Schema(description = "FOUND, NOT_FOUND, or FORBIDDEN when the caller may not read this user")
+        Status status,
+
+        @Schema(description = "The user when status is FOUND, otherwise null")
+        UserResponseDTO user
+) {
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    public static UserBatchEntryDTO found(UserResponseDTO user) {
+        return new UserBatchEntryDTO(user.id(), Status.FOUND, user);
+    }
+
+    public static UserBatchEntryDTO notFound(Long id) {
+        return new UserBatchEntryDTO(id, Status.NOT_FOUND, null);
+    }
+
+    public static UserBatchEntryDTO forbidden(Long id) {
+        return new UserBatchEntryDTO(id, Status.FORBIDDEN, null);
+    }
+}
@@ -0,0 +1,10 @@
+package org.userservice.user_service.dto.response.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "UserBatchResponseDTO", description = "One entry per requested id, in request order")
+public record UserBatchResponseDTO(
+        List<UserBatchEntryDTO> results
+) {}
@@ -0,0 +1,38 @@
+package org.userservice.user_service.dto.response.user_changes;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(name = "UserChangeDTO", description = "Latest state of a changed user, or a delete marker")
+public record UserChangeDTO(
+        @Schema(description = "Id of the user", example = "123")
+        Long id,
+
+        @Schema(description = "UPSERT carries the current state; DELETE carries only the id")
+        Type type,
+
+        @Schema(description = "When the change happened", example = "2025-11-14T10:30:00")
+        LocalDateTime changedAt,
+
+        @Schema(description = "Username, null for deletes", example = "john_doe")
+        String username,
+
+        @Schema(description = "Email, null for deletes", example = "john@example.com")
+        String email,
+
+        @Schema(description = "Age, null for deletes", example = "25")
+        Integer age,
+
+        @Schema(description = "Role, null for deletes", example = "USER")
+        String role,
+
+        @Schema(description = "False when blacklisted, null for deletes", example = "true")
+        Boolean active
+) {
+
+    public enum Type {
+        UPSERT,
+        DELETE
+    }
+}
@@ -0,0 +1,20 @@
+package org.userservice.user_service.dto.response.user_changes;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "UserChangesPageDTO", description = "Changes after the given cursor, oldest first")
+public record UserChangesPageDTO(
+        @Schema(description = "Changes in feed order, at most one per user")
+        List<UserChangeDTO> changes,
+
+        @Schema(description = "Cursor to pass as since on the next call; always use the latest one, even when nothing new")
+        String nextCursor,
+
+        @Schema(description = "True when more changes are available right away")
+        boolean hasMore,
+
+        @Schema(description = "The cursor was last caught up before the delete history starts; restart with an empty since")
+        boolean resyncRequired
+) {}
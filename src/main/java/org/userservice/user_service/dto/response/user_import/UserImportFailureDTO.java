@@ -0,0 +1,15 @@
+package org.userservice.user_service.dto.response.user_import;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "UserImportFailureDTO", description = "A row of a bulk import that was not imported")
+public record UserImportFailureDTO(
+        @Schema(description = "1-based data row number in the upload (CSV header not counted)", example = "42")
+        long row,
+
+        @Schema(description = "Email of the row, when it could be read", example = "user@example.com")
+        String email,
+
+        @Schema(description = "Why the row was rejected", example = "Email already registered")
+        String reason
+) {}
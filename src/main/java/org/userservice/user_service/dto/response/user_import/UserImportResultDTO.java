@@ -0,0 +1,26 @@
+package org.userservice.user_service.dto.response.user_import;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "UserImportResultDTO", description = "Outcome of a bulk user import")
+public record UserImportResultDTO(
+        @Schema(description = "Data rows read from the upload", example = "500000")
+        long rows,
+
+        @Schema(description = "Users created", example = "499990")
+        long imported,
+
+        @Schema(description = "Rows rejected", example = "10")
+        long failed,
+
+        @Schema(description = "Rejected rows, capped at service.user-import.max-reported-failures")
+        List<UserImportFailureDTO> failures,
+
+        @Schema(description = "True when more rows failed than are listed", example = "false")
+        boolean failuresTruncated,
+
+        @Schema(description = "Wall-clock duration of the import in milliseconds", example = "312000")
+        long durationMillis
+) {}
@@ -0,0 +1,27 @@
+package org.userservice.user_service.dto.response.user_stats;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(name = "UserStatsDTO", description = "User totals maintained in memory and reconciled with the database periodically")
+public record UserStatsDTO(
+        @Schema(description = "All users", example = "1250")
+        long total,
+
+        @Schema(description = "Active users", example = "1200")
+        long active,
+
+        @Schema(description = "Blacklisted (inactive) users", example = "50")
+        long blacklisted,
+
+        @Schema(description = "Users per role", example = "{\"USER\": 1245, \"ADMIN\": 5}")
+        Map<String, Long> byRole,
+
+        @Schema(description = "Users per age group", example = "{\"under-25\": 300, \"25-34\": 500}")
+        Map<String, Long> byAgeGroup,
+
+        @Schema(description = "When the counters were last reconciled with the database")
+        Instant reconciledAt
+) {}
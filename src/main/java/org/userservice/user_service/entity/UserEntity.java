@@ -2,16 +2,44 @@ package org.userservice.user_service.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.userservice.user_service.util.TextNormalization;
 
 import java.time.LocalDateTime;
 
+// Second-level cached by id and by email_norm; both caches are sized in application.conf
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_users_email_norm", columnNames = "email_norm"),
+        indexes = {
+                // Serves the admin list order and the keyset seek of cursor pagination
+                @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+                // Equality filters first, then the list order, so filtered pages are read in
+                // index order (no filesort) and created-at ranges stay a range scan
+                @Index(name = "idx_users_active_role_created_at_id", columnList = "active, role, created_at, id"),
+                @Index(name = "idx_users_active_created_at_id", columnList = "active, created_at, id"),
+                @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at, id"),
+                @Index(name = "idx_users_age", columnList = "age"),
+                // Keyset order of the changed-since feed
+                @Index(name = "idx_users_updated_at_id", columnList = "updated_at, id"),
+                @Index(name = "idx_users_username_norm", columnList = "username_norm")
+        })
 public class UserEntity {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (a table on MySQL, a native sequence on H2) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = UserEntity.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -19,6 +47,11 @@ public class UserEntity {
     @Column(nullable = false, length = 50)
     private String username;
 
+    // Lower-cased, trimmed copies kept in sync by the setters so lookups compare plain indexed columns.
+    // Nullable in DDL only so existing rows can be added before UserNormalizedColumnsBackfill fills them
+    @Column(name = "username_norm", length = 50)
+    private String usernameNorm;
+
     @NotBlank(message = "Password is required")
     @Column(nullable = false, length = 100)
     private String password;
@@ -28,6 +61,11 @@ public class UserEntity {
     @Column(unique = true, nullable = false, length = 100)
     private String email;
 
+    // Mutable because admins can change the email; Hibernate then moves the natural-id cache entry
+    @NaturalId(mutable = true)
+    @Column(name = "email_norm", length = 100)
+    private String emailNorm;
+
     @NotNull(message = "Age is required")
     @Min(value = 18, message = "Age must be at least 18")
     @Max(value = 120, message = "Age cannot exceed 120")
@@ -42,6 +80,12 @@ public class UserEntity {
     @Column(updatable = false, nullable = false)
     private LocalDateTime createdAt;
 
+    // Set on every insert and update; with id it is the position in the change feed.
+    // Nullable in DDL only so the column can be added to existing rows before UserUpdatedAtBackfill
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Boolean getActive() {
         return active;
     }
@@ -76,6 +120,11 @@ public class UserEntity {
 
     public void setUsername(String username) {
         this.username = username;
+        this.usernameNorm = TextNormalization.normalize(username);
+    }
+
+    public String getUsernameNorm() {
+        return usernameNorm;
     }
 
     public String getEmail() {
@@ -84,6 +133,11 @@ public class UserEntity {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailNorm = TextNormalization.normalize(email);
+    }
+
+    public String getEmailNorm() {
+        return emailNorm;
     }
 
     public Role getRole() {
@@ -109,4 +163,12 @@ public class UserEntity {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package org.userservice.user_service.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted user so the change feed can report the delete after the users row
+ * is gone. Kept for service.user-changes.tombstone-retention, then pruned.
+ */
+@Entity
+@Table(name = "user_tombstones", indexes = {
+        @Index(name = "idx_user_tombstones_deleted_at_user_id", columnList = "deleted_at, user_id")
+})
+public class UserTombstoneEntity {
+
+    // User ids come from a sequence and are never reused, so one row per id is enough
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    protected UserTombstoneEntity() {
+    }
+
+    public UserTombstoneEntity(Long userId, LocalDateTime deletedAt) {
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
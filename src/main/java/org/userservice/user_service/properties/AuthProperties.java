@@ -0,0 +1,119 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.auth")
+public class AuthProperties {
+
+    // When true the filter builds the principal from verified JWT claims instead of loading the user row
+    private boolean claimsOnly = false;
+
+    private Duration refreshTokenTtl = Duration.ofDays(14);
+
+    // Issued refresh tokens kept in memory so a refresh skips the select by hash
+    private long refreshTokenCacheMaxSize = 100_000;
+
+    private final UserCache userCache = new UserCache();
+
+    private final RefreshTokenPurge refreshTokenPurge = new RefreshTokenPurge();
+
+    public boolean isClaimsOnly() {
+        return claimsOnly;
+    }
+
+    public void setClaimsOnly(boolean claimsOnly) {
+        this.claimsOnly = claimsOnly;
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return refreshTokenTtl;
+    }
+
+    public void setRefreshTokenTtl(Duration refreshTokenTtl) {
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public long getRefreshTokenCacheMaxSize() {
+        return refreshTokenCacheMaxSize;
+    }
+
+    public void setRefreshTokenCacheMaxSize(long refreshTokenCacheMaxSize) {
+        this.refreshTokenCacheMaxSize = refreshTokenCacheMaxSize;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public RefreshTokenPurge getRefreshTokenPurge() {
+        return refreshTokenPurge;
+    }
+
+    public static class UserCache {
+
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class RefreshTokenPurge {
+
+        private Duration interval = Duration.ofHours(1);
+        private int batchSize = 1_000;
+
+        // Consumed tokens are kept this long so a replay still revokes the family; after that it is just unknown
+        private Duration revokedRetention = Duration.ofDays(7);
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRevokedRetention() {
+            return revokedRetention;
+        }
+
+        public void setRevokedRetention(Duration revokedRetention) {
+            this.revokedRetention = revokedRetention;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(5);
+    private int maxFailuresPerEmail = 5;
+    private int maxAttemptsPerIp = 100;
+    // Short: the cache is per instance, and a sign-up on another node does not clear it here
+    private Duration missingEmailTtl = Duration.ofSeconds(30);
+    private long maxTrackedKeys = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxFailuresPerEmail() {
+        return maxFailuresPerEmail;
+    }
+
+    public void setMaxFailuresPerEmail(int maxFailuresPerEmail) {
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+    }
+
+    public int getMaxAttemptsPerIp() {
+        return maxAttemptsPerIp;
+    }
+
+    public void setMaxAttemptsPerIp(int maxAttemptsPerIp) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+    }
+
+    public Duration getMissingEmailTtl() {
+        return missingEmailTtl;
+    }
+
+    public void setMissingEmailTtl(Duration missingEmailTtl) {
+        this.missingEmailTtl = missingEmailTtl;
+    }
+
+    public long getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(long maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+}
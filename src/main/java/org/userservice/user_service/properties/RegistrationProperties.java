@@ -0,0 +1,28 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.registration.email-filter")
+public class RegistrationProperties {
+
+    private long expectedEmails = 1_000_000;
+    private double falsePositiveRate = 0.01;
+
+    public long getExpectedEmails() {
+        return expectedEmails;
+    }
+
+    public void setExpectedEmails(long expectedEmails) {
+        this.expectedEmails = expectedEmails;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
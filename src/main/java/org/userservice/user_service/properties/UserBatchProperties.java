@@ -0,0 +1,31 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-batch")
+public class UserBatchProperties {
+
+    // Larger requests are rejected with 400
+    private int maxIds = 1_000;
+
+    // Ids per IN query for the users not already in the second-level cache
+    private int chunkSize = 200;
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
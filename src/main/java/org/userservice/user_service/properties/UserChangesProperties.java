@@ -0,0 +1,44 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-changes")
+public class UserChangesProperties {
+
+    // Changes younger than this are held back, so a transaction that commits late
+    // cannot land behind a cursor a consumer has already moved past
+    private Duration settleTime = Duration.ofSeconds(5);
+
+    // Delete markers are kept this long; cursors not caught up within it must resync
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    private int maxPageSize = 1_000;
+
+    public Duration getSettleTime() {
+        return settleTime;
+    }
+
+    public void setSettleTime(Duration settleTime) {
+        this.settleTime = settleTime;
+    }
+
+    public Duration getTombstoneRetention() {
+        return tombstoneRetention;
+    }
+
+    public void setTombstoneRetention(Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
@@ -0,0 +1,43 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-import")
+public class UserImportProperties {
+
+    // Rows validated, hashed and inserted together; also the JDBC batch size of the insert
+    private int chunkSize = 500;
+
+    // Concurrent hashing tasks across imports; 0 means half the password hashing pool.
+    // Always capped one below the pool size so logins are never starved
+    private int hashParallelism = 0;
+
+    // Per-row failures listed in the response; the rest are only counted
+    private int maxReportedFailures = 1000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getHashParallelism() {
+        return hashParallelism;
+    }
+
+    public void setHashParallelism(int hashParallelism) {
+        this.hashParallelism = hashParallelism;
+    }
+
+    public int getMaxReportedFailures() {
+        return maxReportedFailures;
+    }
+
+    public void setMaxReportedFailures(int maxReportedFailures) {
+        this.maxReportedFailures = maxReportedFailures;
+    }
+}
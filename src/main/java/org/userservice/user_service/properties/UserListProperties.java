@@ -0,0 +1,88 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-list")
+public class UserListProperties {
+
+    private final CountCache countCache = new CountCache();
+    private final ResultCache resultCache = new ResultCache();
+
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // Approximate totals for slice mode, one entry per filter shape
+    public static class CountCache {
+
+        private long maxSize = 1_000;
+        // Stale entries are served while one background reload runs
+        private Duration refreshAfter = Duration.ofMinutes(1);
+        private Duration expireAfter = Duration.ofMinutes(30);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+
+        public Duration getExpireAfter() {
+            return expireAfter;
+        }
+
+        public void setExpireAfter(Duration expireAfter) {
+            this.expireAfter = expireAfter;
+        }
+    }
+
+    // Whole pages for repeated identical queries; cleared on every user write
+    public static class ResultCache {
+
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(5);
+        // Sum of rows over all cached pages
+        private long maxRows = 50_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(long maxRows) {
+            this.maxRows = maxRows;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-search.trigram-index")
+public class UserSearchProperties {
+
+    private boolean enabled = true;
+
+    // Above this many candidate ids the filter falls back to the plain LIKE query
+    private int maxCandidates = 10_000;
+
+    // Index entries added since the last build that trigger a background rebuild
+    private long rebuildAfterChanges = 200_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public long getRebuildAfterChanges() {
+        return rebuildAfterChanges;
+    }
+
+    public void setRebuildAfterChanges(long rebuildAfterChanges) {
+        this.rebuildAfterChanges = rebuildAfterChanges;
+    }
+}
@@ -0,0 +1,22 @@
+package org.userservice.user_service.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "service.user-stats")
+public class UserStatsProperties {
+
+    // How often the in-memory counters are replaced by a fresh aggregate query, bounding any drift
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+}
@@ -0,0 +1,44 @@
+package org.userservice.user_service.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.userservice.user_service.entity.RefreshTokenEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    // Returns 0 when the token was already used, which is how reuse is detected without a race
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true, t.revokedAt = local datetime "
+            + "where t.id = :id and t.revoked = false")
+    int revokeIfActive(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true, t.revokedAt = local datetime "
+            + "where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("update RefreshTokenEntity t set t.revoked = true, t.revokedAt = local datetime "
+            + "where t.userId = :userId and t.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    // Two indexed conditions; the ids are then deleted by primary key so each batch stays small
+    @Query("select t.id from RefreshTokenEntity t where t.expiresAt < :expiredBefore or t.revokedAt < :revokedBefore")
+    List<Long> findPurgeableIds(@Param("expiredBefore") LocalDateTime expiredBefore,
+                                @Param("revokedBefore") LocalDateTime revokedBefore,
+                                Limit limit);
+
+    @Modifying
+    @Query("delete from RefreshTokenEntity t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,66 @@
+package org.userservice.user_service.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.spec.UserField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Queries Spring Data cannot derive; implemented in UserQueryRepositoryImpl
+public interface UserQueryRepository {
+
+    /**
+     * Filtered page selecting only the UserResponseDTO columns: no managed entities,
+     * no dirty-check snapshots and no password hash read from MySQL.
+     */
+    Page<UserResponseDTO> findSummaries(Specification<UserEntity> spec, Pageable pageable);
+
+    /** Same projection as an offset/limit read with no COUNT query. */
+    List<UserResponseDTO> findSummaries(Specification<UserEntity> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Same projection read through a forward-only cursor in fetch-size batches. Must be
+     * consumed and closed inside a read-only transaction.
+     */
+    Stream<UserResponseDTO> streamSummaries(Specification<UserEntity> spec, Sort sort);
+
+    /**
+     * Offset/limit read selecting only the given columns. Each row maps field names to
+     * values in field order, ready to be serialized as a sparse user.
+     */
+    List<Map<String, Object>> findFields(Specification<UserEntity> spec, Sort sort, long offset, int limit,
+                                         Set<UserField> fields);
+
+    /** The given columns of one user, without loading the entity. */
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<UserField> fields);
+
+    /**
+     * Replaces the inherited findById: served from the entity cache like before, but a miss
+     * read from a replica is not put into the cache, as the replica may still hold an older row.
+     */
+    Optional<UserEntity> findById(Long id);
+
+    /**
+     * Loads a user by normalized email through Hibernate's natural-id API, so repeated
+     * lookups are answered by the natural-id and entity caches without a query. A miss read
+     * from a replica is not cached. The cache is per instance and can be minutes behind
+     * another instance's writes, so credential checks use
+     * {@link UserRepository#findCredentialsByEmail} instead.
+     */
+    Optional<UserEntity> loadByEmailNorm(String emailNorm);
+
+    /**
+     * Users for the given ids in the same order, null where no user exists. Cached users
+     * are served from the second-level cache; the rest are read with IN queries of at most
+     * {@code batchSize} ids and cached unless they came from a replica.
+     */
+    List<UserEntity> findAllByIdInOrder(List<Long> ids, int batchSize);
+}
@@ -0,0 +1,192 @@
+package org.userservice.user_service.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.config.ReplicaRoutingDataSource;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.spec.UserField;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+class UserQueryRepositoryImpl implements UserQueryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+
+    UserQueryRepositoryImpl(EntityManager entityManager, ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        this.entityManager = entityManager;
+        this.replicaRouting = replicaRouting;
+    }
+
+    @Override
+    public Page<UserResponseDTO> findSummaries(Specification<UserEntity> spec, Pageable pageable) {
+        List<UserResponseDTO> content = findSummaries(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        // Like SimpleJpaRepository, the count is skipped when the page itself shows the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<UserResponseDTO> findSummaries(Specification<UserEntity> spec, Sort sort, long offset, int limit) {
+        return entityManager.createQuery(summaryQuery(spec, sort))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<UserResponseDTO> streamSummaries(Specification<UserEntity> spec, Sort sort) {
+        CriteriaQuery<UserResponseDTO> query = summaryQuery(spec, sort);
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<UserEntity> spec, Sort sort, long offset, int limit,
+                                                Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        selectFields(query, root, fields);
+        applyFilter(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        selectFields(query, root, fields);
+        query.where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toRow(tuple, fields));
+    }
+
+    @Override
+    public Optional<UserEntity> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("The given id must not be null");
+        }
+        return entityManager.unwrap(Session.class)
+                .byId(UserEntity.class)
+                .with(cacheMode())
+                .loadOptional(id);
+    }
+
+    @Override
+    public Optional<UserEntity> loadByEmailNorm(String emailNorm) {
+        if (emailNorm == null) {
+            return Optional.empty();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(cacheMode());
+        try {
+            return session.bySimpleNaturalId(UserEntity.class).loadOptional(emailNorm);
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
+    @Override
+    public List<UserEntity> findAllByIdInOrder(List<Long> ids, int batchSize) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(UserEntity.class)
+                .with(cacheMode())
+                .withBatchSize(batchSize)
+                .enableOrderedReturn(true)
+                .multiLoad(ids);
+    }
+
+    // Rows read from a replica may be behind the primary: still answer from the cache, never fill it
+    private CacheMode cacheMode() {
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        return routing != null && routing.routesReadToReplica() ? CacheMode.GET : CacheMode.NORMAL;
+    }
+
+    private CriteriaQuery<UserResponseDTO> summaryQuery(Specification<UserEntity> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserResponseDTO> query = cb.createQuery(UserResponseDTO.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        query.select(cb.construct(UserResponseDTO.class,
+                root.get("id"),
+                root.get("username"),
+                root.get("email"),
+                root.get("age"),
+                root.get("createdAt")));
+        applyFilter(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+
+    private static void selectFields(CriteriaQuery<Tuple> query, Root<UserEntity> root, Set<UserField> fields) {
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> root.get(field.attribute()).alias(field.attribute()))
+                .toList());
+    }
+
+    private static Map<String, Object> toRow(Tuple tuple, Set<UserField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        fields.forEach(field -> row.put(field.attribute(), tuple.get(field.attribute())));
+        return row;
+    }
+
+    private long count(Specification<UserEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<UserEntity> root = query.from(UserEntity.class);
+
+        query.select(cb.count(root));
+        applyFilter(spec, root, query, cb);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void applyFilter(Specification<UserEntity> spec, Root<UserEntity> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
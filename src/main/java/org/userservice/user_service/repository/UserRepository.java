@@ -1,21 +1,98 @@
 package org.userservice.user_service.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.repository.projection.UserChangeRow;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
+import org.userservice.user_service.repository.projection.UserSearchRow;
+import org.userservice.user_service.repository.projection.UserStatsRow;
+import org.userservice.user_service.util.TextNormalization;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity>, UserQueryRepository {
 
-    // Custom query method to find a user by email
-    Optional<UserEntity> findByEmail(String email);
-    boolean existsByEmail(String email);
+    // Email lookups are case-insensitive and go through email_norm, the cached natural id
+    default Optional<UserEntity> findByEmail(String email) {
+        return loadByEmailNorm(TextNormalization.normalize(email));
+    }
+
+    // Credential checks must see a password change or blacklisting on any instance right away,
+    // so they skip the per-instance entity cache and, being read-write, run on the primary
+    default Optional<UserCredentialsRow> findCredentialsByEmail(String email) {
+        return findCredentialsByEmailNorm(TextNormalization.normalize(email));
+    }
+
+    @Transactional
+    @Query("select new org.userservice.user_service.repository.projection.UserCredentialsRow("
+            + "u.id, u.email, u.password, u.role, u.active) from UserEntity u where u.emailNorm = :emailNorm")
+    Optional<UserCredentialsRow> findCredentialsByEmailNorm(@Param("emailNorm") String emailNorm);
+
+    @Transactional
+    @Query("select new org.userservice.user_service.repository.projection.UserCredentialsRow("
+            + "u.id, u.email, u.password, u.role, u.active) from UserEntity u where u.id = :id")
+    Optional<UserCredentialsRow> findCredentialsById(@Param("id") Long id);
+
+    default boolean existsByEmail(String email) {
+        return existsByEmailNorm(TextNormalization.normalize(email));
+    }
+
+    boolean existsByEmailNorm(String emailNorm);
     // Find users by name containing a substring (case-insensitive)
     List<UserEntity> findByUsernameContainingIgnoreCase(String username);
 
     // Find users created after a certain date
     List<UserEntity> findByCreatedAtAfter(java.time.LocalDateTime date);
 
+    // All emails, streamed to rebuild the registered-email filter without loading entities
+    @Query("select u.email from UserEntity u")
+    Stream<String> streamAllEmails();
+
+    // Which of the given normalized emails are already taken; one IN query per bulk-import chunk
+    @Query("select u.emailNorm from UserEntity u where u.emailNorm in :emailNorms")
+    List<String> findExistingEmailNorms(@Param("emailNorms") Collection<String> emailNorms);
+
+    // Searchable columns in id order, streamed to build the trigram index
+    @Query("select new org.userservice.user_service.repository.projection.UserSearchRow(u.id, u.username, u.email) "
+            + "from UserEntity u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserSearchRow> streamSearchRows();
+
+    // Read-only projection for the list endpoints
+    @Query("select new org.userservice.user_service.dto.response.user.UserResponseDTO("
+            + "u.id, u.username, u.email, u.age, u.createdAt) from UserEntity u")
+    List<UserResponseDTO> findAllSummaries();
+
+    // Users changed after the (updatedAt, id) position and before the settle horizon, in feed order
+    @Query("select new org.userservice.user_service.repository.projection.UserChangeRow("
+            + "u.id, u.username, u.email, u.age, u.role, u.active, u.updatedAt) from UserEntity u "
+            + "where u.updatedAt < :until and (u.updatedAt > :after or (u.updatedAt = :after and u.id > :afterId)) "
+            + "order by u.updatedAt, u.id")
+    List<UserChangeRow> findChangedAfter(@Param("after") LocalDateTime after,
+                                         @Param("afterId") Long afterId,
+                                         @Param("until") LocalDateTime until,
+                                         Limit limit);
+
+    // At most roles x 2 x ages rows, used to seed and reconcile the in-memory user statistics
+    @Query("select new org.userservice.user_service.repository.projection.UserStatsRow(u.role, u.active, u.age, count(u)) "
+            + "from UserEntity u group by u.role, u.active, u.age")
+    List<UserStatsRow> countByRoleActiveAndAge();
+
+    // Ids of blacklisted users, used to seed the in-memory revocation index
+    @Query("select u.id from UserEntity u where u.active = false")
+    List<Long> findInactiveUserIds();
+
 }
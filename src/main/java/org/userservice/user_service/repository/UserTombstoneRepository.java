@@ -0,0 +1,30 @@
+package org.userservice.user_service.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.userservice.user_service.entity.UserTombstoneEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserTombstoneRepository extends JpaRepository<UserTombstoneEntity, Long> {
+
+    // Same keyset as UserRepository.findChangedAfter, so the two can be merged into one feed
+    @Query("select t from UserTombstoneEntity t where t.deletedAt < :until "
+            + "and (t.deletedAt > :after or (t.deletedAt = :after and t.userId > :afterId)) "
+            + "order by t.deletedAt, t.userId")
+    List<UserTombstoneEntity> findDeletedAfter(@Param("after") LocalDateTime after,
+                                               @Param("afterId") Long afterId,
+                                               @Param("until") LocalDateTime until,
+                                               Limit limit);
+
+    @Query("select t.userId from UserTombstoneEntity t")
+    List<Long> findAllUserIds();
+
+    @Modifying
+    @Query("delete from UserTombstoneEntity t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
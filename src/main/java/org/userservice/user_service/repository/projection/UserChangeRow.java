@@ -0,0 +1,15 @@
+package org.userservice.user_service.repository.projection;
+
+import org.userservice.user_service.entity.Role;
+
+import java.time.LocalDateTime;
+
+// Current state of a changed user, as published by the change feed
+public record UserChangeRow(Long id,
+                            String username,
+                            String email,
+                            Integer age,
+                            Role role,
+                            Boolean active,
+                            LocalDateTime updatedAt) {
+}
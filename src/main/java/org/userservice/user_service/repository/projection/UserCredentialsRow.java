@@ -0,0 +1,11 @@
+package org.userservice.user_service.repository.projection;
+
+import org.userservice.user_service.entity.Role;
+
+// What a login or token refresh checks, read straight from the primary rather than the entity cache
+public record UserCredentialsRow(Long id,
+                                 String email,
+                                 String password,
+                                 Role role,
+                                 Boolean active) {
+}
@@ -0,0 +1,5 @@
+package org.userservice.user_service.repository.projection;
+
+// The searchable columns of a user, read without loading managed entities
+public record UserSearchRow(Long id, String username, String email) {
+}
@@ -0,0 +1,7 @@
+package org.userservice.user_service.repository.projection;
+
+import org.userservice.user_service.entity.Role;
+
+// Number of users sharing one (role, active, age) combination
+public record UserStatsRow(Role role, Boolean active, Integer age, Long count) {
+}
@@ -2,37 +2,65 @@ package org.userservice.user_service.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.userservice.user_service.entity.UserEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.userservice.user_service.dto.request.login.AuthRequestDTO;
+import org.userservice.user_service.dto.request.refresh.RefreshRequestDTO;
 import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
 import org.userservice.user_service.dto.request.user.UserPatchRequestDTO;
 import org.userservice.user_service.dto.request.user.UserRequestDTO;
 import org.userservice.user_service.dto.request.user.UserUpdateRequestDTO;
 import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
+import org.userservice.user_service.dto.response.page.CursorPageDTO;
+import org.userservice.user_service.dto.response.page.SlicePageDTO;
+import org.userservice.user_service.dto.response.user.UserBatchEntryDTO;
+import org.userservice.user_service.dto.response.user.UserBatchResponseDTO;
 import org.userservice.user_service.dto.response.user.UserResponseDTO;
 import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.exception.UserAlreadyExistsException;
 import org.userservice.user_service.mapper.UserMapper;
+import org.userservice.user_service.properties.UserBatchProperties;
 import org.userservice.user_service.properties.WalletServiceProperties;
 import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
 import org.userservice.user_service.service.jwt.JwtService;
+import org.userservice.user_service.service.refresh.RefreshTokenService;
+import org.userservice.user_service.service.registration.RegisteredEmailFilter;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.service.throttle.LoginThrottle;
+import org.userservice.user_service.service.user_changes.UserChangeFeed;
+import org.userservice.user_service.service.user_details.UserDetailsCache;
+import org.userservice.user_service.service.user_list.UserCountEstimator;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
+import org.userservice.user_service.spec.UserCursor;
+import org.userservice.user_service.spec.UserField;
+import org.userservice.user_service.spec.UserFilter;
 import org.userservice.user_service.spec.UserSpecifications;
+import org.userservice.user_service.util.DataIntegrityErrors;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
 
 @Service
 public class UserService {
@@ -44,24 +72,54 @@ public class UserService {
     private final UserMapper userMapper;
     private final WebClient webClient;
     private final WalletServiceProperties walletProperties;
-    private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RevokedUserIndex revokedUserIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final UserCountEstimator userCountEstimator;
+    private final UserTrigramIndex userTrigramIndex;
+    private final UserListCache userListCache;
+    private final UserStatsCounters userStatsCounters;
+    private final UserChangeFeed userChangeFeed;
+    private final UserBatchProperties userBatchProperties;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        UserMapper userMapper,
                        WebClient webClient,
                        WalletServiceProperties walletProperties,
-                       AuthenticationManager authenticationManager,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       RevokedUserIndex revokedUserIndex,
+                       UserDetailsCache userDetailsCache,
+                       RefreshTokenService refreshTokenService,
+                       LoginThrottle loginThrottle,
+                       RegisteredEmailFilter registeredEmailFilter,
+                       UserCountEstimator userCountEstimator,
+                       UserTrigramIndex userTrigramIndex,
+                       UserListCache userListCache,
+                       UserStatsCounters userStatsCounters,
+                       UserChangeFeed userChangeFeed,
+                       UserBatchProperties userBatchProperties) {
 
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
         this.webClient = webClient;
         this.walletProperties = walletProperties;
-        this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.revokedUserIndex = revokedUserIndex;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenService = refreshTokenService;
+        this.loginThrottle = loginThrottle;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.userCountEstimator = userCountEstimator;
+        this.userTrigramIndex = userTrigramIndex;
+        this.userListCache = userListCache;
+        this.userStatsCounters = userStatsCounters;
+        this.userChangeFeed = userChangeFeed;
+        this.userBatchProperties = userBatchProperties;
 
         logger.info("UserService initialized");
     }
@@ -76,6 +134,11 @@ public class UserService {
         UserEntity entity = userMapper.toEntity(request);
         entity.setPassword(passwordEncoder.encode(request.password()));
         userRepository.save(entity);
+        registeredEmailFilter.add(entity.getEmail());
+        loginThrottle.forgetMissing(entity.getEmail());
+        userTrigramIndex.index(entity.getId(), entity.getUsername(), entity.getEmail());
+        userListCache.invalidate();
+        userStatsCounters.added(entity);
 
         logger.info("User created successfully with id={}", entity.getId());
         return userMapper.toDTO(entity);
@@ -86,10 +149,7 @@ public class UserService {
     // ---------------------------------------------------------------------------
     public List<UserResponseDTO> getAllUsers() {
         logger.info("Fetching all users");
-        return userRepository.findAll()
-                .stream()
-                .map(userMapper::toDTO)
-                .toList();
+        return userRepository.findAllSummaries();
     }
 
     // ---------------------------------------------------------------------------
@@ -98,13 +158,62 @@ public class UserService {
     public UserResponseDTO getUserById(Long userId) {
         logger.info("Fetching user by id={}", userId);
 
-        UserEntity user = userRepository.findById(userId)
+        // findById rather than a projection: a second-level cache hit costs no query at all
+        return userRepository.findById(userId)
+                .map(userMapper::toDTO)
                 .orElseThrow(() -> {
                     logger.error("User not found with id={}", userId);
                     return new IllegalArgumentException("User not found");
                 });
+    }
 
-        return userMapper.toDTO(user);
+    // ---------------------------------------------------------------------------
+    // GET USER FIELDS BY ID (sparse fieldset, only the requested columns are read)
+    // ---------------------------------------------------------------------------
+    public Map<String, Object> getUserFieldsById(Long userId, Set<UserField> fields) {
+        logger.info("Fetching user fields by id={}, fields={}", userId, fields);
+
+        return userRepository.findFieldsById(userId, fields)
+                .orElseThrow(() -> {
+                    logger.error("User not found with id={}", userId);
+                    return new IllegalArgumentException("User not found");
+                });
+    }
+
+    // ---------------------------------------------------------------------------
+    // GET USERS BY IDS
+    // ---------------------------------------------------------------------------
+    public UserBatchResponseDTO getUsersByIds(List<Long> ids, Predicate<Long> canAccess) {
+        int maxIds = userBatchProperties.getMaxIds();
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids can be requested at once");
+        }
+        logger.info("Fetching users by ids, count={}", ids.size());
+
+        // Forbidden ids are never queried, so the response does not reveal whether they exist
+        Map<Long, Boolean> allowed = new LinkedHashMap<>();
+        ids.forEach(id -> allowed.computeIfAbsent(id, canAccess::test));
+        List<Long> toLoad = allowed.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        Map<Long, UserResponseDTO> found = new HashMap<>();
+        if (!toLoad.isEmpty()) {
+            for (UserEntity user : userRepository.findAllByIdInOrder(toLoad, Math.max(1, userBatchProperties.getChunkSize()))) {
+                if (user != null) {
+                    found.put(user.getId(), userMapper.toDTO(user));
+                }
+            }
+        }
+
+        List<UserBatchEntryDTO> results = ids.stream()
+                .map(id -> !allowed.get(id) ? UserBatchEntryDTO.forbidden(id)
+                        : found.containsKey(id) ? UserBatchEntryDTO.found(found.get(id))
+                        : UserBatchEntryDTO.notFound(id))
+                .toList();
+        logger.info("Fetched users by ids, requested={}, found={}", ids.size(), found.size());
+        return new UserBatchResponseDTO(results);
     }
 
     // ---------------------------------------------------------------------------
@@ -121,6 +230,8 @@ public class UserService {
                     return new IllegalArgumentException("User not found");
                 });
 
+        UserStatsCounters.Sample before = UserStatsCounters.Sample.of(user);
+
         if (dto.username() != null && !dto.username().isBlank()) {
             logger.debug("Updating username to {}", dto.username());
             user.setUsername(dto.username());
@@ -137,6 +248,10 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        userTrigramIndex.index(user.getId(), user.getUsername(), user.getEmail());
+        userListCache.invalidate();
+        userStatsCounters.changed(before, user);
         logger.info("User patched successfully with id={}", userId);
 
         return userMapper.toDTO(user);
@@ -145,6 +260,8 @@ public class UserService {
     // ---------------------------------------------------------------------------
     // ADMIN UPDATE USER
     // ---------------------------------------------------------------------------
+    // One read-write transaction, so the row is read from the primary and not from a lagging replica
+    @Transactional
     public UserResponseDTO updateUserByAdmin(Long userId, UserUpdateRequestDTO dto) {
 
         logger.info("Admin updating user with id={}", userId);
@@ -155,14 +272,21 @@ public class UserService {
                     return new IllegalArgumentException("User not found");
                 });
 
+        UserStatsCounters.Sample before = UserStatsCounters.Sample.of(user);
+
         if (dto.getName() != null) {
             logger.debug("Updating username to {}", dto.getName());
             user.setUsername(dto.getName());
         }
 
+        // Evict under the old email, the principal is cached by it
+        userDetailsCache.evict(user.getEmail());
+
         if (dto.getEmail() != null) {
             logger.debug("Updating email to {}", dto.getEmail());
             user.setEmail(dto.getEmail());
+            registeredEmailFilter.add(dto.getEmail());
+            loginThrottle.forgetMissing(dto.getEmail());
         }
 
         if (dto.getAge() != null) {
@@ -171,6 +295,9 @@ public class UserService {
         }
 
         UserEntity updated = userRepository.save(user);
+        userTrigramIndex.index(updated.getId(), updated.getUsername(), updated.getEmail());
+        userListCache.invalidate();
+        userStatsCounters.changed(before, updated);
 
         logger.info("Admin updated user successfully with id={}", userId);
 
@@ -198,8 +325,21 @@ public class UserService {
                 });
 
         userRepository.delete(user);
+        userChangeFeed.recordDeletion(userId);
+        revokedUserIndex.revoke(userId);
+        userDetailsCache.evict(user.getEmail());
+        refreshTokenService.revokeAllForUser(userId);
+        userTrigramIndex.remove(userId);
+        userListCache.invalidate();
+        userStatsCounters.removed(user);
         logger.warn("Admin deleted user successfully with id={}", userId);
 
+        // Outside the transaction: a slow wallet-service must not hold the delete (and its tombstone,
+        // stamped above) uncommitted past the change feed's settle window
+        afterCommit(() -> cascadeDeleteWallets(userId, token));
+    }
+
+    private void cascadeDeleteWallets(Long userId, String token) {
         try {
             webClient.method(HttpMethod.DELETE)
                     .uri(walletProperties.getAdminUrl())
@@ -222,7 +362,9 @@ public class UserService {
 
         logger.info("Register attempt for email={}", request.getEmail());
 
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Only emails the filter may have seen cost a query; duplicates are rejected before hashing
+        if (registeredEmailFilter.mightContain(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
             logger.warn("Registration failed: email {} already exists", request.getEmail());
             throw new UserAlreadyExistsException("Email already registered");
         }
@@ -234,7 +376,21 @@ public class UserService {
         user.setAge(request.getAge());
         user.setRole(Role.USER);
 
-        userRepository.save(user);
+        // The unique index decides concurrent sign-ups for the same email
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (DataIntegrityErrors.isDuplicateKey(ex)) {
+                logger.warn("Registration failed: email {} already exists", request.getEmail());
+                throw new UserAlreadyExistsException("Email already registered");
+            }
+            throw ex;
+        }
+        registeredEmailFilter.add(user.getEmail());
+        loginThrottle.forgetMissing(user.getEmail());
+        userTrigramIndex.index(user.getId(), user.getUsername(), user.getEmail());
+        userListCache.invalidate();
+        userStatsCounters.added(user);
 
         logger.info("User registered successfully: id={}, email={}", user.getId(), user.getEmail());
     }
@@ -245,62 +401,138 @@ public class UserService {
 
     public AuthResponseDTO login(AuthRequestDTO request) {
 
-        // 1. Find user first
-        UserEntity user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        // 0. Shed throttled and known-missing attempts before any DB or BCrypt work
+        loginThrottle.checkAllowed(request.getEmail(), currentClientIp());
+        if (loginThrottle.isKnownMissing(request.getEmail())) {
+            throw new IllegalArgumentException("User not found");
+        }
+
+        // 1. Load the credentials once, bypassing the entity cache; this row is used for every check and for the token
+        long missingGeneration = loginThrottle.missingGeneration();
+        UserCredentialsRow user = userRepository.findCredentialsByEmail(request.getEmail())
+                .orElseThrow(() -> {
+                    loginThrottle.rememberMissing(request.getEmail(), missingGeneration);
+                    return new IllegalArgumentException("User not found");
+                });
 
         // 2. Check if active BEFORE authentication
-        if (Boolean.FALSE.equals(user.getActive())) {
+        if (Boolean.FALSE.equals(user.active())) {
             throw new IllegalStateException("User account is inactive or blacklisted.");
         }
 
-        // 3. Authenticate password
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        // 3. Verify the password against the loaded hash instead of reloading through AuthenticationManager
+        if (!passwordEncoder.matches(request.getPassword(), user.password())) {
+            logger.warn("Invalid password for email={}", request.getEmail());
+            loginThrottle.recordFailure(request.getEmail());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        loginThrottle.recordSuccess(request.getEmail());
 
         // 4. Generate JWT
         String token = jwtService.generateToken(
-                user.getEmail(),
-                user.getId(),
-                user.getRole().name()
+                user.email(),
+                user.id(),
+                user.role().name()
         );
 
-        return new AuthResponseDTO(token, user.getRole().name(), user.getId());
+        String refreshToken = refreshTokenService.issue(user.id());
+
+        return new AuthResponseDTO(token, user.role().name(), user.id(), refreshToken);
+    }
+
+    private String currentClientIp() {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : attributes.getRequest().getRemoteAddr();
+    }
+
+    // ---------------------------------------------------------------------------
+    // REFRESH (rotates the refresh token, no password check)
+    // ---------------------------------------------------------------------------
+    public AuthResponseDTO refresh(RefreshRequestDTO request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
     }
 
     // Get all users with pagination and filtering
-    public Page<UserResponseDTO> getUsers(
-            String username,
-            String email,
-            Boolean active,
-            String role,
-            int page,
-            int size
-    ) {
-
-        List<Specification<UserEntity>> specs = new ArrayList<>();
-
-        if (username != null && !username.isBlank()) specs.add(UserSpecifications.usernameContains(username));
-        if (email != null && !email.isBlank()) specs.add(UserSpecifications.emailContains(email));
-        if (active != null) specs.add(UserSpecifications.statusEquals(active));
-        if (role != null && !role.isBlank()) specs.add(UserSpecifications.roleEquals(role));
-
-        Specification<UserEntity> finalSpec = specs.isEmpty() ? null : Specification.allOf(specs);
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-
-        Page<UserEntity> pageResult = userRepository.findAll(finalSpec, pageable);
-
-        return pageResult.map(user -> new UserResponseDTO(
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getAge(),
-                user.getCreatedAt()
-        ));
+    public Page<UserResponseDTO> getUsers(UserFilter filter, int page, int size) {
+
+        return userListCache.get(filter, page, size, () -> {
+            List<Specification<UserEntity>> specs = userTrigramIndex.specificationsFor(filter);
+
+            Specification<UserEntity> finalSpec = specs.isEmpty() ? null : Specification.allOf(specs);
+
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+
+            return userRepository.findSummaries(finalSpec, pageable);
+        });
+    }
+
+    // ---------------------------------------------------------------------------
+    // GET USERS BY CURSOR (keyset pagination, no OFFSET and no COUNT)
+    // ---------------------------------------------------------------------------
+    public CursorPageDTO<UserResponseDTO> getUsersByCursor(UserFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, size);
+        UserCursor after = (cursor == null || cursor.isBlank()) ? null : UserCursor.decode(cursor);
+
+        List<Specification<UserEntity>> specs = userTrigramIndex.specificationsFor(filter);
+        if (after != null) {
+            specs.add(UserSpecifications.after(after));
+        }
+
+        // One extra row tells whether another page exists
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        List<UserResponseDTO> rows = userRepository.findSummaries(Specification.allOf(specs), sort, 0, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserResponseDTO> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            UserResponseDTO last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new UserCursor(last.createdAt(), last.id()).encode();
+        }
+
+        logger.debug("Cursor page fetched: size={}, hasNext={}", pageRows.size(), hasNext);
+        return new CursorPageDTO<>(pageRows, pageSize, hasNext, nextCursor);
+    }
+
+    // ---------------------------------------------------------------------------
+    // GET USERS AS SLICE (size + 1 rows instead of a COUNT, optional cached total)
+    // ---------------------------------------------------------------------------
+    public SlicePageDTO<UserResponseDTO> getUsersSlice(UserFilter filter, int page, int size, boolean approximateTotal) {
+        int pageSize = Math.max(1, size);
+        int pageNumber = Math.max(0, page);
+
+        List<UserResponseDTO> rows = userRepository.findSummaries(
+                Specification.allOf(userTrigramIndex.specificationsFor(filter)),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")),
+                (long) pageNumber * pageSize,
+                pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserResponseDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Long total = approximateTotal ? userCountEstimator.estimate(filter) : null;
+
+        return new SlicePageDTO<>(content, pageNumber, pageSize, hasNext, total);
+    }
+
+    // ---------------------------------------------------------------------------
+    // GET USER FIELDS AS SLICE (sparse fieldset over the slice read)
+    // ---------------------------------------------------------------------------
+    public SlicePageDTO<Map<String, Object>> getUserFieldsSlice(UserFilter filter, Set<UserField> fields,
+                                                               int page, int size, boolean approximateTotal) {
+        int pageSize = Math.max(1, size);
+        int pageNumber = Math.max(0, page);
+
+        List<Map<String, Object>> rows = userRepository.findFields(
+                Specification.allOf(userTrigramIndex.specificationsFor(filter)),
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")),
+                (long) pageNumber * pageSize,
+                pageSize + 1,
+                fields);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Map<String, Object>> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Long total = approximateTotal ? userCountEstimator.estimate(filter) : null;
+
+        return new SlicePageDTO<>(content, pageNumber, pageSize, hasNext, total);
     }
 }
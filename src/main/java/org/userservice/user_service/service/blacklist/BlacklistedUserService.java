@@ -11,6 +11,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.userservice.user_service.entity.UserEntity;
 import org.userservice.user_service.properties.WalletServiceProperties;
 import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.refresh.RefreshTokenService;
+import org.userservice.user_service.service.user_details.UserDetailsCache;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
 
 import java.util.Map;
 
@@ -21,11 +25,26 @@ public class BlacklistedUserService {
 
     private final UserRepository userRepository;
     private final WebClient walletWebClient;
+    private final RevokedUserIndex revokedUserIndex;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final UserListCache userListCache;
+    private final UserStatsCounters userStatsCounters;
 
     public BlacklistedUserService(UserRepository userRepository,
                                   WebClient.Builder webClientBuilder,
-                                  WalletServiceProperties walletServiceProperties) {
+                                  WalletServiceProperties walletServiceProperties,
+                                  RevokedUserIndex revokedUserIndex,
+                                  UserDetailsCache userDetailsCache,
+                                  RefreshTokenService refreshTokenService,
+                                  UserListCache userListCache,
+                                  UserStatsCounters userStatsCounters) {
         this.userRepository = userRepository;
+        this.revokedUserIndex = revokedUserIndex;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenService = refreshTokenService;
+        this.userListCache = userListCache;
+        this.userStatsCounters = userStatsCounters;
         this.walletWebClient = webClientBuilder
                 .baseUrl(walletServiceProperties.getAdminUrl() + "/blacklist")
                 .build();
@@ -42,8 +61,14 @@ public class BlacklistedUserService {
             return;
         }
 
+        UserStatsCounters.Sample before = UserStatsCounters.Sample.of(user);
         user.setActive(false);
         userRepository.save(user);
+        revokedUserIndex.revoke(userId);
+        userListCache.invalidate();
+        userStatsCounters.changed(before, user);
+        userDetailsCache.evict(user.getEmail());
+        refreshTokenService.revokeAllForUser(userId);
 
         String token = extractCurrentToken();
 
@@ -69,8 +94,13 @@ public class BlacklistedUserService {
             return;
         }
 
+        UserStatsCounters.Sample before = UserStatsCounters.Sample.of(user);
         user.setActive(true);
         userRepository.save(user);
+        revokedUserIndex.restore(userId);
+        userListCache.invalidate();
+        userStatsCounters.changed(before, user);
+        userDetailsCache.evict(user.getEmail());
 
         String token = extractCurrentToken();
 
@@ -0,0 +1,182 @@
+package org.userservice.user_service.service.blacklist;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.dto.response.revocation.RevocationDeltaDTO;
+import org.userservice.user_service.dto.response.revocation.RevocationSnapshotDTO;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.UserTombstoneRepository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * In-memory set of user ids whose tokens must no longer be accepted
+ * (blacklisted or deleted users). Lets the auth filter reject them
+ * without reading the user row on every request.
+ *
+ * Ids are stored as bits in an AtomicLongArray, so {@link #isRevoked(Long)} is a
+ * single volatile read with no allocation. Writes are rare and serialized; each one
+ * bumps a version and is kept in a bounded change log so peers can pull deltas.
+ * Versions are only meaningful within one epoch, which changes on every load (and so
+ * on every start), so a peer holding a position from another process is sent to the
+ * snapshot instead of getting a partial delta.
+ */
+@Component
+public class RevokedUserIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedUserIndex.class);
+
+    private static final int MAX_CHANGE_LOG = 10_000;
+
+    private final UserRepository userRepository;
+    private final UserTombstoneRepository userTombstoneRepository;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(1);
+    private final Deque<Change> changeLog = new ArrayDeque<>();
+    private String epoch;
+    private long version;
+
+    private record Change(long version, long userId, boolean revoked) {
+    }
+
+    public RevokedUserIndex(UserRepository userRepository, UserTombstoneRepository userTombstoneRepository) {
+        this.userRepository = userRepository;
+        this.userTombstoneRepository = userTombstoneRepository;
+    }
+
+    // Deleted users have no row left, so they come from the delete tombstones, which are kept
+    // far longer than an access token lives
+    @PostConstruct
+    public synchronized void load() {
+        List<Long> revokedIds = Stream.concat(
+                        userRepository.findInactiveUserIds().stream(),
+                        userTombstoneRepository.findAllUserIds().stream())
+                .toList();
+        long maxId = revokedIds.stream().mapToLong(Long::longValue).max().orElse(0);
+
+        AtomicLongArray loaded = new AtomicLongArray(wordIndex(maxId) + 1);
+        for (Long id : revokedIds) {
+            setBit(loaded, id);
+        }
+        words = loaded;
+        changeLog.clear();
+        epoch = UUID.randomUUID().toString();
+        version = 0;
+        log.info("Loaded {} revoked user ids, epoch={}", revokedIds.size(), epoch);
+    }
+
+    public boolean isRevoked(Long userId) {
+        if (userId == null || userId < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        int word = wordIndex(userId);
+        return word < current.length() && (current.get(word) & bitMask(userId)) != 0;
+    }
+
+    // Published only once the DB agrees, so a rolled back blacklist does not lock the user out
+    public void revoke(Long userId) {
+        afterCommit(() -> apply(userId, true));
+    }
+
+    public void restore(Long userId) {
+        afterCommit(() -> apply(userId, false));
+    }
+
+    public synchronized RevocationSnapshotDTO snapshot() {
+        AtomicLongArray current = words;
+        List<Long> ids = new ArrayList<>();
+        for (int word = 0; word < current.length(); word++) {
+            long bits = current.get(word);
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                ids.add(((long) word << 6) + bit);
+                bits &= bits - 1;
+            }
+        }
+        return new RevocationSnapshotDTO(epoch, version, ids);
+    }
+
+    /**
+     * Changes after the given version. When the position is from another epoch or older
+     * than the change log, the caller is told to fetch a full snapshot instead.
+     */
+    public synchronized RevocationDeltaDTO delta(String sinceEpoch, long sinceVersion) {
+        Change oldest = changeLog.peekFirst();
+        boolean covered = epoch.equals(sinceEpoch)
+                && (sinceVersion == version
+                || (oldest != null && sinceVersion >= oldest.version() - 1 && sinceVersion <= version));
+        if (!covered) {
+            return new RevocationDeltaDTO(epoch, sinceVersion, version, true, List.of(), List.of());
+        }
+
+        // Only the latest change per id matters to the peer; re-inserting keeps the order of last change
+        Map<Long, Boolean> latest = new LinkedHashMap<>();
+        for (Change change : changeLog) {
+            if (change.version() > sinceVersion) {
+                latest.remove(change.userId());
+                latest.put(change.userId(), change.revoked());
+            }
+        }
+        List<Long> revoked = new ArrayList<>();
+        List<Long> restored = new ArrayList<>();
+        latest.forEach((userId, isRevoked) -> (isRevoked ? revoked : restored).add(userId));
+        return new RevocationDeltaDTO(epoch, sinceVersion, version, false, revoked, restored);
+    }
+
+    private synchronized void apply(Long userId, boolean revoked) {
+        if (userId == null || userId < 0) {
+            return;
+        }
+        if (revoked) {
+            ensureCapacity(userId);
+            setBit(words, userId);
+        } else if (wordIndex(userId) < words.length()) {
+            words.getAndUpdate(wordIndex(userId), bits -> bits & ~bitMask(userId));
+        }
+
+        version++;
+        changeLog.addLast(new Change(version, userId, revoked));
+        if (changeLog.size() > MAX_CHANGE_LOG) {
+            changeLog.removeFirst();
+        }
+        log.info("User id={} {} revocation index at version={}", userId, revoked ? "added to" : "removed from", version);
+    }
+
+    private void ensureCapacity(long userId) {
+        AtomicLongArray current = words;
+        int needed = wordIndex(userId) + 1;
+        if (needed <= current.length()) {
+            return;
+        }
+        AtomicLongArray grown = new AtomicLongArray(Math.max(needed, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        words = grown;
+    }
+
+    private static void setBit(AtomicLongArray target, long userId) {
+        target.getAndUpdate(wordIndex(userId), bits -> bits | bitMask(userId));
+    }
+
+    private static int wordIndex(long userId) {
+        return (int) (userId >>> 6);
+    }
+
+    private static long bitMask(long userId) {
+        return 1L << (userId & 63);
+    }
+}
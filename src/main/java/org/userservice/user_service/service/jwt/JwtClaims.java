@@ -0,0 +1,22 @@
+package org.userservice.user_service.service.jwt;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been verified.
+ * Built once per request by {@link JwtService#parseClaims(String)} and shared
+ * through the {@link #REQUEST_ATTRIBUTE} request attribute.
+ */
+public record JwtClaims(
+        String email,
+        Long userId,
+        String role,
+        Date expiresAt
+) {
+
+    public static final String REQUEST_ATTRIBUTE = JwtClaims.class.getName();
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+}
@@ -1,20 +1,26 @@
 package org.userservice.user_service.service.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.common.utils.JwtUtil; // Use the shared JwtUtil
 
+import javax.crypto.SecretKey;
+
 @Service
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
     private final JwtUtil jwtUtil;
+    private final SecretKey signingKey;
 
-    public JwtService(JwtUtil jwtUtil) {
+    public JwtService(JwtUtil jwtUtil, SecretKey signingKey) {
         this.jwtUtil = jwtUtil;
+        this.signingKey = signingKey;
     }
 
     public String generateToken(String email, Long userId, String role) {
@@ -24,6 +30,29 @@ public class JwtService {
         return token;
     }
 
+    /**
+     * Verifies the signature and expiry of the token once and returns all the claims
+     * the service needs. Throws ExpiredJwtException / JwtException like the extract methods.
+     */
+    public JwtClaims parseClaims(String token) {
+        log.debug("Parsing and verifying token claims");
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        Number userId = claims.get("userId", Number.class);
+        JwtClaims parsed = new JwtClaims(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get("role", String.class),
+                claims.getExpiration()
+        );
+        log.debug("Parsed claims for email={}, userId={}, role={}", parsed.email(), parsed.userId(), parsed.role());
+        return parsed;
+    }
+
     public String extractEmail(String token) {
         log.debug("Extracting email from token");
         String email = jwtUtil.extractUsername(token);
@@ -52,4 +81,11 @@ public class JwtService {
         log.info("Token valid: {}", valid);
         return valid;
     }
+
+    // Claims from parseClaims are already signature- and expiry-checked, only the subject is compared
+    public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+        boolean valid = claims.email() != null && claims.email().equals(userDetails.getUsername());
+        log.debug("Token valid for userDetails={}: {}", userDetails.getUsername(), valid);
+        return valid;
+    }
 }
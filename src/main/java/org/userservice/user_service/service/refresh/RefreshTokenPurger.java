@@ -0,0 +1,87 @@
+package org.userservice.user_service.service.refresh;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.repository.RefreshTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes refresh tokens that can no longer be used: expired ones, and revoked ones once
+ * security.auth.refresh-token-purge.revoked-retention has passed. Runs in batches, each in
+ * its own short transaction, so a large backlog never holds long locks on the table.
+ */
+@Component
+public class RefreshTokenPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurger.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AuthProperties.RefreshTokenPurge properties;
+    private final TransactionTemplate transaction;
+    private final ScheduledExecutorService purgeExecutor;
+
+    public RefreshTokenPurger(RefreshTokenRepository refreshTokenRepository,
+                              AuthProperties authProperties,
+                              PlatformTransactionManager transactionManager) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = authProperties.getRefreshTokenPurge();
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePurge() {
+        long intervalMillis = properties.getInterval().toMillis();
+        purgeExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            } catch (RuntimeException ex) {
+                log.warn("Refresh token purge failed: {}", ex.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    long purge() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedBefore = now.minus(properties.getRevokedRetention());
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        long purged = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer deleted = transaction.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findPurgeableIds(now, revokedBefore, Limit.of(batchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+            });
+            purged += deleted == null ? 0 : deleted;
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired or revoked refresh tokens", purged);
+        }
+        return purged;
+    }
+}
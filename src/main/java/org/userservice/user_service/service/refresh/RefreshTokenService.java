@@ -0,0 +1,165 @@
+package org.userservice.user_service.service.refresh;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
+import org.userservice.user_service.entity.RefreshTokenEntity;
+import org.userservice.user_service.exception.InvalidRefreshTokenException;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.repository.RefreshTokenRepository;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.service.jwt.JwtService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh consumes the presented token and
+ * issues a new one in the same family; presenting an already used token revokes the
+ * whole family (reuse detection). Renewal costs a token lookup and a PK user read,
+ * no password hashing.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final RevokedUserIndex revokedUserIndex;
+    private final Duration ttl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // Recently issued tokens by hash, so most refreshes skip the select and go straight to the conditional update
+    private final Cache<String, IssuedToken> issuedTokens;
+
+    private record IssuedToken(Long id, String tokenHash, Long userId, String familyId, LocalDateTime expiresAt) {
+        static IssuedToken of(RefreshTokenEntity entity) {
+            return new IssuedToken(entity.getId(), entity.getTokenHash(), entity.getUserId(),
+                    entity.getFamilyId(), entity.getExpiresAt());
+        }
+    }
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtService jwtService,
+                               RevokedUserIndex revokedUserIndex,
+                               AuthProperties authProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.revokedUserIndex = revokedUserIndex;
+        this.ttl = authProperties.getRefreshTokenTtl();
+        this.issuedTokens = Caffeine.newBuilder()
+                .maximumSize(authProperties.getRefreshTokenCacheMaxSize())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** Starts a new token family for a fresh login and returns the raw token. */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponseDTO refresh(String rawToken) {
+        String tokenHash = hash(rawToken);
+
+        IssuedToken token = issuedTokens.getIfPresent(tokenHash);
+        if (token == null) {
+            RefreshTokenEntity entity = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+            token = IssuedToken.of(entity);
+        }
+
+        if (token.expiresAt().isBefore(LocalDateTime.now())) {
+            issuedTokens.invalidate(tokenHash);
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        // Consume the token; if it was already consumed someone is replaying it
+        if (refreshTokenRepository.revokeIfActive(token.id()) == 0) {
+            log.warn("Refresh token reuse detected for userId={}, revoking family={}", token.userId(), token.familyId());
+            revokeFamily(token.familyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        issuedTokens.invalidate(tokenHash);
+
+        if (revokedUserIndex.isRevoked(token.userId())) {
+            throw new InvalidRefreshTokenException("User account is inactive or blacklisted");
+        }
+
+        Long userId = token.userId();
+        // Not findById: the entity cache may not have seen a blacklisting on another instance yet
+        UserCredentialsRow user = userRepository.findCredentialsById(userId)
+                .orElseThrow(() -> new InvalidRefreshTokenException("User not found"));
+        if (Boolean.FALSE.equals(user.active())) {
+            revokeFamily(token.familyId());
+            throw new InvalidRefreshTokenException("User account is inactive or blacklisted");
+        }
+
+        String newRefreshToken = issue(userId, token.familyId());
+        String accessToken = jwtService.generateToken(user.email(), user.id(), user.role().name());
+
+        log.info("Refresh token rotated for userId={}", userId);
+        return new AuthResponseDTO(accessToken, user.role().name(), user.id(), newRefreshToken);
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId);
+        issuedTokens.asMap().values().removeIf(token -> token.userId().equals(userId));
+        log.info("Revoked {} refresh tokens for userId={}", revoked, userId);
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        issuedTokens.asMap().values().removeIf(token -> token.familyId().equals(familyId));
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshTokenEntity entity = new RefreshTokenEntity();
+        entity.setTokenHash(hash(rawToken));
+        entity.setUserId(userId);
+        entity.setFamilyId(familyId);
+        entity.setExpiresAt(LocalDateTime.now().plus(ttl));
+        refreshTokenRepository.save(entity);
+
+        IssuedToken issued = IssuedToken.of(entity);
+        afterCommit(() -> issuedTokens.put(issued.tokenHash(), issued));
+        return rawToken;
+    }
+
+    // Tokens are 256 random bits, so a fast unsalted hash is enough to keep them unusable if the table leaks
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
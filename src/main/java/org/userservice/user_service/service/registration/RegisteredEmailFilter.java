@@ -0,0 +1,105 @@
+package org.userservice.user_service.service.registration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.properties.RegistrationProperties;
+import org.userservice.user_service.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of registered emails. "Definitely not registered" lets a sign-up skip
+ * the existence query and go straight to the insert; "maybe registered" is confirmed
+ * with one query before any BCrypt work. The unique index stays the source of truth,
+ * so an empty or stale filter only costs extra queries, never wrong answers.
+ *
+ * Deleted emails cannot be removed from a Bloom filter; they remain "maybe" until the
+ * next {@link #rebuild()}, which only means one confirming query for a re-registration.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final UserRepository userRepository;
+    private final int numBits;
+    private final int numHashes;
+    private volatile AtomicLongArray bits;
+
+    public RegisteredEmailFilter(UserRepository userRepository, RegistrationProperties properties) {
+        this.userRepository = userRepository;
+        long n = Math.max(1, properties.getExpectedEmails());
+        double p = properties.getFalsePositiveRate();
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        AtomicLongArray rebuilt = new AtomicLongArray(bits.length());
+        long[] count = {0};
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> {
+                add(rebuilt, email);
+                count[0]++;
+            });
+        }
+        bits = rebuilt;
+        log.info("Registered email filter rebuilt with {} emails ({} bits, {} hashes)", count[0], numBits, numHashes);
+    }
+
+    public boolean mightContain(String email) {
+        AtomicLongArray current = bits;
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((current.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String email) {
+        add(bits, email);
+    }
+
+    private void add(AtomicLongArray target, String email) {
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            long mask = 1L << bit;
+            target.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    // 64-bit FNV-1a over the normalized email, finished with a murmur3 mix for better bit spread
+    private static long hash(String email) {
+        byte[] data = email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,102 @@
+package org.userservice.user_service.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, ascending list of user ids stored as varint-encoded gaps. Dense ids
+ * take one byte each instead of the eight a long[] would need.
+ */
+final class PostingList {
+
+    private final byte[] data;
+    private final int count;
+
+    private PostingList(byte[] data, int count) {
+        this.data = data;
+        this.count = count;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[count];
+        int pos = 0;
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    /** Ids of sorted {@code candidates} that are also in this list. */
+    long[] retainAll(long[] candidates) {
+        long[] kept = new long[Math.min(candidates.length, count)];
+        int keptCount = 0;
+        int c = 0;
+        int pos = 0;
+        long id = 0;
+        for (int i = 0; i < count && c < candidates.length; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            while (c < candidates.length && candidates[c] < id) {
+                c++;
+            }
+            if (c < candidates.length && candidates[c] == id) {
+                kept[keptCount++] = id;
+                c++;
+            }
+        }
+        return Arrays.copyOf(kept, keptCount);
+    }
+
+    static final class Builder {
+
+        private byte[] data = new byte[8];
+        private int size;
+        private int count;
+        private long last;
+
+        /** Ids must arrive in ascending order; a repeat of the last id is ignored. */
+        void add(long id) {
+            if (count > 0 && id == last) {
+                return;
+            }
+            if (count > 0 && id < last) {
+                throw new IllegalArgumentException("Posting ids must be ascending: " + id + " after " + last);
+            }
+            long gap = id - last;
+            if (size + 10 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((gap & ~0x7FL) != 0) {
+                data[size++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[size++] = (byte) gap;
+            last = id;
+            count++;
+        }
+
+        PostingList build() {
+            return new PostingList(Arrays.copyOf(data, size), count);
+        }
+    }
+}
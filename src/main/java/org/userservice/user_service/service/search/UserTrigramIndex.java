@@ -0,0 +1,378 @@
+package org.userservice.user_service.service.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.UserSearchProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserSearchRow;
+import org.userservice.user_service.spec.UserFilter;
+import org.userservice.user_service.spec.UserSpecifications;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * In-memory trigram index over username and email, used to turn the admin
+ * "contains" filters into a short list of candidate ids before MySQL is asked.
+ *
+ * The base index is built from one streamed read into compressed {@link PostingList}s.
+ * Later writes land in a small overlay: new values are added there, and ids whose base
+ * entry is outdated are marked stale. The LIKE predicate still runs on the candidates, so
+ * the index can only drop rows, never add them.
+ *
+ * MySQL's default *_ai_ci collation makes LIKE case- and accent-insensitive, so values and
+ * terms are folded the same way before they become trigrams: lower case, diacritics
+ * stripped and the common ligatures expanded. A term with characters left outside ASCII
+ * after folding may compare in ways the fold does not model, so it goes to SQL. So do
+ * terms shorter than three characters, terms with LIKE wildcards and terms that match
+ * too many users, as well as every term until the first build finishes.
+ */
+@Component
+public class UserTrigramIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserTrigramIndex.class);
+
+    private static final int USERNAME = 0;
+    private static final int EMAIL = 1;
+    // Skip intersecting when even the rarest trigram is this many times over the candidate cap
+    private static final int MAX_SCAN_FACTOR = 16;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final UserSearchProperties properties;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Counter indexedQueries;
+    private final Counter fallbackQueries;
+
+    private volatile Generation current = new Generation();
+    private volatile Generation building;
+
+    private static final class Generation {
+        // null until the build of this generation finishes
+        volatile Map<Long, PostingList> base;
+        final Map<Long, Set<Long>> added = new ConcurrentHashMap<>();
+        final Set<Long> stale = ConcurrentHashMap.newKeySet();
+        final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+        final AtomicLong changes = new AtomicLong();
+
+        void put(Long id, String username, String email) {
+            stale.add(id);
+            LongConsumer addId = key -> added.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+            forEachTrigram(USERNAME, username, addId);
+            forEachTrigram(EMAIL, email, addId);
+            changes.incrementAndGet();
+        }
+
+        void delete(Long id) {
+            deleted.add(id);
+            changes.incrementAndGet();
+        }
+    }
+
+    public UserTrigramIndex(UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            UserSearchProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        // Not read-only, so the build reads the primary: only writes after it starts are replayed
+        // into the new generation, and a lagging replica may not hold the ones just before
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-trigram-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.indexedQueries = Counter.builder("user.search.index.queries")
+                .tag("outcome", "index")
+                .register(meterRegistry);
+        this.fallbackQueries = Counter.builder("user.search.index.queries")
+                .tag("outcome", "fallback")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (properties.isEnabled()) {
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return current.base != null;
+    }
+
+    /**
+     * The filter's specifications, plus an id restriction when the index can answer
+     * the username/email contains filters.
+     */
+    public List<Specification<UserEntity>> specificationsFor(UserFilter filter) {
+        List<Specification<UserEntity>> specs = filter.toSpecifications();
+        candidates(filter.username(), filter.email())
+                .ifPresent(ids -> specs.add(UserSpecifications.idIn(ids)));
+        return specs;
+    }
+
+    /** Candidate ids for the given lower-cased contains terms, or empty when SQL must decide. */
+    Optional<Set<Long>> candidates(String usernameTerm, String emailTerm) {
+        if (!properties.isEnabled() || (usernameTerm == null && emailTerm == null)) {
+            return Optional.empty();
+        }
+        Generation generation = current;
+        if (generation.base == null) {
+            fallbackQueries.increment();
+            return Optional.empty();
+        }
+
+        Set<Long> result = null;
+        for (Map.Entry<Integer, String> term : terms(usernameTerm, emailTerm)) {
+            Set<Long> ids = candidates(generation, term.getKey(), term.getValue());
+            if (ids != null) {
+                if (result == null) {
+                    result = ids;
+                } else {
+                    result.retainAll(ids);
+                }
+            }
+        }
+
+        if (result == null) {
+            fallbackQueries.increment();
+            return Optional.empty();
+        }
+        indexedQueries.increment();
+        return Optional.of(result);
+    }
+
+    // Published after commit, so a rolled back write never hides the committed value
+    public void index(Long id, String username, String email) {
+        if (id == null || !properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> apply(generation -> generation.put(id, username, email)));
+    }
+
+    public void remove(Long id) {
+        if (id == null || !properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> apply(generation -> generation.delete(id)));
+    }
+
+    public void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                building = null;
+                log.error("Trigram index rebuild failed, searches keep using the previous index or SQL", ex);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        // Writes from now on go to the new generation too, so none are lost while it is read
+        Generation next = new Generation();
+        building = next;
+
+        Map<Long, PostingList.Builder> builders = new HashMap<>();
+        long[] rows = {0};
+        rebuildTransaction.executeWithoutResult(status -> {
+            try (Stream<UserSearchRow> stream = userRepository.streamSearchRows()) {
+                stream.forEach(row -> {
+                    LongConsumer addId = key -> builders.computeIfAbsent(key, k -> new PostingList.Builder()).add(row.id());
+                    forEachTrigram(USERNAME, row.username(), addId);
+                    forEachTrigram(EMAIL, row.email(), addId);
+                    rows[0]++;
+                });
+            }
+        });
+
+        Map<Long, PostingList> base = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((key, builder) -> base.put(key, builder.build()));
+        next.base = base;
+        current = next;
+        building = null;
+
+        log.info("Trigram index built with {} users and {} trigrams in {} ms",
+                rows[0], base.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void apply(Consumer<Generation> change) {
+        // building before current: rebuild publishes current before clearing building, so a
+        // swap between the two reads still leaves the change in the new generation. The
+        // change is already committed, so a build that starts after these reads sees it in the DB
+        Generation next = building;
+        Generation active = current;
+        change.accept(active);
+        if (next != null && next != active) {
+            change.accept(next);
+        }
+        if (active.base != null && active.changes.get() >= properties.getRebuildAfterChanges()) {
+            scheduleRebuild();
+        }
+    }
+
+    private Set<Long> candidates(Generation generation, int field, String term) {
+        if (term.length() < 3 || term.indexOf('%') >= 0 || term.indexOf('_') >= 0 || !isAscii(term)) {
+            return null;
+        }
+        long[] keys = trigramKeys(field, term);
+
+        // Base postings: intersect starting from the rarest trigram
+        long[] baseIds = new long[0];
+        List<PostingList> lists = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            PostingList list = generation.base.get(key);
+            if (list == null) {
+                lists = null;
+                break;
+            }
+            lists.add(list);
+        }
+        if (lists != null) {
+            lists.sort(Comparator.comparingInt(PostingList::count));
+            if (lists.get(0).count() > (long) properties.getMaxCandidates() * MAX_SCAN_FACTOR) {
+                return null;
+            }
+            baseIds = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && baseIds.length > 0; i++) {
+                baseIds = lists.get(i).retainAll(baseIds);
+            }
+        }
+
+        Set<Long> result = new HashSet<>();
+        for (long id : baseIds) {
+            if (!generation.stale.contains(id)) {
+                result.add(id);
+            }
+        }
+
+        // Overlay postings for values written since the build
+        Set<Long> overlay = null;
+        for (long key : keys) {
+            Set<Long> posting = generation.added.get(key);
+            if (posting == null) {
+                overlay = null;
+                break;
+            }
+            if (overlay == null) {
+                overlay = new HashSet<>(posting);
+            } else {
+                overlay.retainAll(posting);
+            }
+        }
+        if (overlay != null) {
+            result.addAll(overlay);
+        }
+
+        result.removeIf(generation.deleted::contains);
+        return result.size() > properties.getMaxCandidates() ? null : result;
+    }
+
+    private static List<Map.Entry<Integer, String>> terms(String usernameTerm, String emailTerm) {
+        List<Map.Entry<Integer, String>> terms = new ArrayList<>(2);
+        if (usernameTerm != null) {
+            terms.add(Map.entry(USERNAME, fold(usernameTerm)));
+        }
+        if (emailTerm != null) {
+            terms.add(Map.entry(EMAIL, fold(emailTerm)));
+        }
+        return terms;
+    }
+
+    // Approximates the *_ai_ci comparison: lower case, no diacritics, ligatures expanded
+    static String fold(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (isAscii(lower)) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'ß' -> folded.append("ss");
+                case 'æ' -> folded.append("ae");
+                case 'œ' -> folded.append("oe");
+                case 'þ' -> folded.append("th");
+                case 'ø' -> folded.append('o');
+                case 'đ' -> folded.append('d');
+                case 'ł' -> folded.append('l');
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] trigramKeys(int field, String term) {
+        return LongStream.range(0, term.length() - 2)
+                .map(i -> key(field, term, (int) i))
+                .distinct()
+                .toArray();
+    }
+
+    private static void forEachTrigram(int field, String value, LongConsumer consumer) {
+        if (value == null) {
+            return;
+        }
+        String folded = fold(value);
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            consumer.accept(key(field, folded, i));
+        }
+    }
+
+    // Three UTF-16 chars in the low 48 bits, the field above them
+    private static long key(int field, String value, int i) {
+        return ((long) field << 48)
+                | ((long) value.charAt(i) << 32)
+                | ((long) value.charAt(i + 1) << 16)
+                | value.charAt(i + 2);
+    }
+}
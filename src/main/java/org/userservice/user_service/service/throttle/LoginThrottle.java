@@ -0,0 +1,140 @@
+package org.userservice.user_service.service.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.exception.TooManyLoginAttemptsException;
+import org.userservice.user_service.properties.LoginThrottleProperties;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Sheds abusive login traffic before it reaches MySQL or BCrypt.
+ * Tracks failed logins per email and all attempts per client IP in sliding windows,
+ * and briefly remembers emails that do not exist so repeated guesses skip the lookup.
+ * All state sits in size-bounded, expiring caches so memory stays flat under attack.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final LoginThrottleProperties properties;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Cache<String, SlidingWindowCounter> emailFailures;
+    private final Cache<String, SlidingWindowCounter> ipAttempts;
+    private final Cache<String, Boolean> missingEmails;
+    // Bumped by every forgetMissing, so a lookup that started before it cannot re-add the email
+    private final AtomicLong missingGeneration = new AtomicLong();
+    private final Counter rejectedCounter;
+
+    public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.windowMillis = properties.getWindow().toMillis();
+        this.clock = clock;
+        this.emailFailures = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getWindow().multipliedBy(2))
+                .build();
+        this.ipAttempts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getWindow().multipliedBy(2))
+                .build();
+        this.missingEmails = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterWrite(properties.getMissingEmailTtl())
+                .build();
+        this.rejectedCounter = Counter.builder("login.throttle.rejected").register(meterRegistry);
+    }
+
+    /** Counts the attempt against the IP and rejects it if the IP or the email is over its limit. */
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+
+        if (clientIp != null) {
+            SlidingWindowCounter ipCounter = ipAttempts.get(clientIp, key -> new SlidingWindowCounter(windowMillis, now));
+            if (ipCounter.increment(now) > properties.getMaxAttemptsPerIp()) {
+                reject("Too many login attempts from this address", ipCounter, now);
+            }
+        }
+
+        SlidingWindowCounter emailCounter = emailFailures.getIfPresent(normalize(email));
+        if (emailCounter != null && emailCounter.count(now) >= properties.getMaxFailuresPerEmail()) {
+            reject("Too many failed login attempts for this account", emailCounter, now);
+        }
+    }
+
+    public void recordFailure(String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        emailFailures.get(normalize(email), key -> new SlidingWindowCounter(windowMillis, now)).increment(now);
+    }
+
+    public void recordSuccess(String email) {
+        emailFailures.invalidate(normalize(email));
+    }
+
+    public boolean isKnownMissing(String email) {
+        return properties.isEnabled() && missingEmails.getIfPresent(normalize(email)) != null;
+    }
+
+    /** Taken before the lookup whose miss is then passed to {@link #rememberMissing}. */
+    public long missingGeneration() {
+        return missingGeneration.get();
+    }
+
+    /**
+     * Remembers a failed lookup, unless an account was created since {@code generation}
+     * was taken: the lookup may have run just before that account committed.
+     */
+    public void rememberMissing(String email, long generation) {
+        if (!properties.isEnabled() || missingGeneration.get() != generation) {
+            return;
+        }
+        String key = normalize(email);
+        missingEmails.put(key, Boolean.TRUE);
+        // Lost a race with forgetMissing between the check and the put
+        if (missingGeneration.get() != generation) {
+            missingEmails.invalidate(key);
+        }
+    }
+
+    // Called when an account is created or takes over an email, so it can log in right away
+    public void forgetMissing(String email) {
+        if (email != null) {
+            afterCommit(() -> {
+                missingGeneration.incrementAndGet();
+                missingEmails.invalidate(normalize(email));
+            });
+        }
+    }
+
+    private void reject(String message, SlidingWindowCounter counter, long now) {
+        rejectedCounter.increment();
+        long retryAfter = counter.secondsUntilNextWindow(now);
+        log.warn("Login throttled: {} (retry after {}s)", message, retryAfter);
+        throw new TooManyLoginAttemptsException(message, retryAfter);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,61 @@
+package org.userservice.user_service.service.throttle;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free sliding-window counter. Keeps the count of the current and previous
+ * fixed windows and weights the previous one by how much of it still overlaps the
+ * sliding window, which is accurate enough for throttling and needs no per-event storage.
+ */
+class SlidingWindowCounter {
+
+    private record State(long windowStart, long current, long previous) {
+    }
+
+    private final long windowMillis;
+    private final AtomicReference<State> state;
+
+    SlidingWindowCounter(long windowMillis, long nowMillis) {
+        this.windowMillis = windowMillis;
+        this.state = new AtomicReference<>(new State(alignedStart(nowMillis), 0, 0));
+    }
+
+    long increment(long nowMillis) {
+        while (true) {
+            State before = state.get();
+            State rolled = roll(before, nowMillis);
+            State after = new State(rolled.windowStart(), rolled.current() + 1, rolled.previous());
+            if (state.compareAndSet(before, after)) {
+                return estimate(after, nowMillis);
+            }
+        }
+    }
+
+    long count(long nowMillis) {
+        return estimate(roll(state.get(), nowMillis), nowMillis);
+    }
+
+    // Seconds until the current fixed window ends and the estimate starts dropping
+    long secondsUntilNextWindow(long nowMillis) {
+        long end = roll(state.get(), nowMillis).windowStart() + windowMillis;
+        return Math.max(1, (end - nowMillis + 999) / 1000);
+    }
+
+    private State roll(State state, long nowMillis) {
+        long start = alignedStart(nowMillis);
+        if (start == state.windowStart()) {
+            return state;
+        }
+        long previous = start - state.windowStart() == windowMillis ? state.current() : 0;
+        return new State(start, 0, previous);
+    }
+
+    private long estimate(State state, long nowMillis) {
+        double overlap = 1.0 - (double) (nowMillis - state.windowStart()) / windowMillis;
+        return state.current() + (long) Math.floor(state.previous() * overlap);
+    }
+
+    private long alignedStart(long nowMillis) {
+        return nowMillis - (nowMillis % windowMillis);
+    }
+}
@@ -0,0 +1,149 @@
+package org.userservice.user_service.service.user_changes;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.userservice.user_service.dto.response.user_changes.UserChangeDTO;
+import org.userservice.user_service.dto.response.user_changes.UserChangesPageDTO;
+import org.userservice.user_service.entity.UserTombstoneEntity;
+import org.userservice.user_service.properties.UserChangesProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.UserTombstoneRepository;
+import org.userservice.user_service.repository.projection.UserChangeRow;
+import org.userservice.user_service.spec.UserChangeCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changed-since feed for consumers that mirror users. Every write bumps users.updated_at
+ * and every delete leaves a tombstone, so (changedAt, id) after the consumer's cursor is
+ * exactly what changed; a user changed several times shows up once, with its latest state.
+ */
+@Service
+public class UserChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeFeed.class);
+
+    // Before any row; MySQL DATETIME cannot hold LocalDateTime.MIN
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Comparator<UserChangeDTO> FEED_ORDER =
+            Comparator.comparing(UserChangeDTO::changedAt).thenComparing(UserChangeDTO::id);
+
+    private final UserRepository userRepository;
+    private final UserTombstoneRepository tombstoneRepository;
+    private final UserChangesProperties properties;
+    private final TransactionTemplate transaction;
+    private final ScheduledExecutorService pruneExecutor;
+
+    public UserChangeFeed(UserRepository userRepository,
+                          UserTombstoneRepository tombstoneRepository,
+                          UserChangesProperties properties,
+                          PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.pruneExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-tombstone-prune");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedulePrune() {
+        pruneExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                pruneTombstones();
+            } catch (RuntimeException ex) {
+                log.warn("Tombstone prune failed: {}", ex.getMessage());
+            }
+        }, 1, 24, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruneExecutor.shutdownNow();
+    }
+
+    // Joins the deleting transaction, so the tombstone exists exactly when the delete commits
+    @Transactional
+    public void recordDeletion(Long userId) {
+        tombstoneRepository.save(new UserTombstoneEntity(userId, LocalDateTime.now()));
+    }
+
+    // Not read-only, so it runs on the primary: a lagging replica would hand out a cursor past
+    // changes it has not replicated yet, and the consumer would never see them
+    @Transactional
+    public UserChangesPageDTO changesSince(String since, int size) {
+        int limit = Math.min(Math.max(1, size), properties.getMaxPageSize());
+        LocalDateTime now = LocalDateTime.now();
+        UserChangeCursor after = (since == null || since.isBlank()) ? null : UserChangeCursor.decode(since);
+        LocalDateTime until = now.minus(properties.getSettleTime());
+
+        // A prune on any instance drops tombstones older than now - retention at the latest. The consumer
+        // needs the deletes after both its position and syncedAt, so only when both fall behind that
+        // cutoff may one it still needs be gone. How old the rows it is paging through are does not matter.
+        if (after != null && latest(after.changedAt(), after.syncedAt())
+                .isBefore(pruneCutoff(now))) {
+            return new UserChangesPageDTO(List.of(), null, false, true);
+        }
+
+        // A fresh pass cannot miss earlier deletes: those users no longer have a row to send
+        UserChangeCursor position = after == null ? new UserChangeCursor(BEGINNING, 0L, until) : after;
+        // limit + 1 from each side: the merged head then tells whether more remain
+        List<UserChangeDTO> changes = new ArrayList<>(2 * limit + 2);
+        for (UserChangeRow row : userRepository.findChangedAfter(
+                position.changedAt(), position.id(), until, Limit.of(limit + 1))) {
+            changes.add(new UserChangeDTO(row.id(), UserChangeDTO.Type.UPSERT, row.updatedAt(),
+                    row.username(), row.email(), row.age(), row.role() == null ? null : row.role().name(), row.active()));
+        }
+        for (UserTombstoneEntity tombstone : tombstoneRepository.findDeletedAfter(
+                position.changedAt(), position.id(), until, Limit.of(limit + 1))) {
+            changes.add(new UserChangeDTO(tombstone.getUserId(), UserChangeDTO.Type.DELETE, tombstone.getDeletedAt(),
+                    null, null, null, null, null));
+        }
+        changes.sort(FEED_ORDER);
+
+        boolean hasMore = changes.size() > limit;
+        List<UserChangeDTO> page = hasMore ? changes.subList(0, limit) : changes;
+        // Once caught up the consumer has every delete before until, so even a quiet feed's cursor moves on
+        LocalDateTime syncedAt = hasMore ? position.syncedAt() : until;
+        UserChangeCursor next = new UserChangeCursor(position.changedAt(), position.id(), syncedAt);
+        if (!page.isEmpty()) {
+            UserChangeDTO last = page.get(page.size() - 1);
+            next = new UserChangeCursor(last.changedAt(), last.id(), syncedAt);
+        }
+        return new UserChangesPageDTO(List.copyOf(page), next.encode(), hasMore, false);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private LocalDateTime pruneCutoff(LocalDateTime now) {
+        return now.minus(properties.getTombstoneRetention());
+    }
+
+    void pruneTombstones() {
+        LocalDateTime before = pruneCutoff(LocalDateTime.now());
+        Integer pruned = transaction.execute(status -> tombstoneRepository.deleteOlderThan(before));
+        if (pruned != null && pruned > 0) {
+            log.info("Pruned {} user tombstones older than {}", pruned, before);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.service.jwt.JwtClaims;
 
 import java.util.Collection;
 import java.util.List;
@@ -28,6 +29,18 @@ public class CustomUserDetails implements UserDetails {
         log.info("CustomUserDetails created for userId={}, email={}, role={}", id, email, role);
     }
 
+    // Principal for claims-only authentication; no password is available or needed
+    public CustomUserDetails(JwtClaims claims) {
+        this.id = claims.userId();
+        this.email = claims.email();
+        this.password = null;
+        if (claims.role() == null) {
+            throw new IllegalArgumentException("Token has no role claim");
+        }
+        this.role = Role.valueOf(claims.role().toUpperCase());
+        log.debug("CustomUserDetails created from token claims for userId={}", id);
+    }
+
     public Long getId() {
         return id;
     }
@@ -3,7 +3,7 @@ package org.userservice.user_service.service.user_details;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.userservice.user_service.entity.UserEntity;
 import org.userservice.user_service.repository.UserRepository;
@@ -14,15 +14,24 @@ public class CustomUserDetailsService implements UserDetailsService {
     private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordEncoder passwordEncoder;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    UserDetailsCache userDetailsCache,
+                                    PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordEncoder = passwordEncoder;
         log.info("CustomUserDetailsService initialized");
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         log.info("Attempting to load user by email={}", email);
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
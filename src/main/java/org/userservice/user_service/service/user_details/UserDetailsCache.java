@@ -0,0 +1,64 @@
+package org.userservice.user_service.service.user_details;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.util.TextNormalization;
+
+import java.util.function.Function;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Bounded, TTL based cache of loaded UserDetails keyed by email.
+ * Write paths in UserService and BlacklistedUserService evict the affected
+ * user so changes (password, active flag, deletion) are seen on the next request.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(AuthProperties authProperties, MeterRegistry meterRegistry) {
+        AuthProperties.UserCache config = authProperties.getUserCache();
+        if (config.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(config.getMaxSize())
+                    .expireAfterWrite(config.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+            log.info("UserDetails cache enabled: maxSize={}, ttl={}", config.getMaxSize(), config.getTtl());
+        } else {
+            this.cache = null;
+            log.info("UserDetails cache disabled");
+        }
+    }
+
+    // Keyed by the normalized email: lookups are case-insensitive, so every spelling must share one entry
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (cache == null) {
+            return loader.apply(email);
+        }
+        return cache.get(TextNormalization.normalize(email), key -> loader.apply(email));
+    }
+
+    // Evict now and again after commit so a concurrent read cannot re-cache the pre-commit row
+    public void evict(String email) {
+        if (cache == null || email == null) {
+            return;
+        }
+        String key = TextNormalization.normalize(email);
+        cache.invalidate(key);
+        afterCommit(() -> cache.invalidate(key));
+        log.debug("Evicted cached UserDetails for email={}", email);
+    }
+}
@@ -0,0 +1,122 @@
+package org.userservice.user_service.service.user_export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Full user export. Rows are read as UserResponseDTO projections through a forward-only
+ * cursor and written to the output as they arrive, so no entity enters the persistence
+ * context and heap use does not depend on the number of users.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,username,email,age,createdAt";
+
+    private final UserRepository userRepository;
+    private final UserTrigramIndex userTrigramIndex;
+    private final ObjectMapper objectMapper;
+
+    public UserExportService(UserRepository userRepository,
+                             UserTrigramIndex userTrigramIndex,
+                             ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.userTrigramIndex = userTrigramIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every user matching the filter to {@code out}, newest first, and returns the
+     * row count. The stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(UserFilter filter, UserExportFormat format, OutputStream out) throws IOException {
+        Specification<UserEntity> spec = Specification.allOf(userTrigramIndex.specificationsFor(filter));
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+        long rows;
+        try (Stream<UserResponseDTO> users = userRepository.streamSummaries(spec, sort)) {
+            rows = switch (format) {
+                case NDJSON -> writeNdjson(users.iterator(), out);
+                case CSV -> writeCsv(users.iterator(), out);
+            };
+        }
+        log.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<UserResponseDTO> users, OutputStream out) throws IOException {
+        // Not closed: closing the writer would close the response stream under the caller
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        SequenceWriter writer = objectMapper.writerFor(UserResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .writeValues(buffered);
+        long rows = 0;
+        while (users.hasNext()) {
+            writer.write(users.next());
+            rows++;
+        }
+        writer.flush();
+        if (rows > 0) {
+            buffered.write('\n');
+        }
+        buffered.flush();
+        return rows;
+    }
+
+    private long writeCsv(Iterator<UserResponseDTO> users, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long rows = 0;
+        while (users.hasNext()) {
+            UserResponseDTO user = users.next();
+            writer.write(String.valueOf(user.id()));
+            writer.write(',');
+            writer.write(csvField(user.username()));
+            writer.write(',');
+            writer.write(csvField(user.email()));
+            writer.write(',');
+            writer.write(user.age() == null ? "" : String.valueOf(user.age()));
+            writer.write(',');
+            writer.write(user.createdAt() == null ? "" : user.createdAt().toString());
+            writer.write("\r\n");
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // RFC 4180 quoting; values a spreadsheet would run as a formula get a leading quote
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
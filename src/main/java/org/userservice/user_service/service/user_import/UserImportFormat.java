@@ -0,0 +1,25 @@
+package org.userservice.user_service.service.user_import;
+
+import org.springframework.http.MediaType;
+
+public enum UserImportFormat {
+    NDJSON,
+    CSV;
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    public static UserImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if (type.isCompatibleWith(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))) {
+                return NDJSON;
+            }
+            if (type.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) {
+                return CSV;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                + " (expected " + NDJSON_MEDIA_TYPE + " or " + CSV_MEDIA_TYPE + ")");
+    }
+}
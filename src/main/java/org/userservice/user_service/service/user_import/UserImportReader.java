@@ -0,0 +1,151 @@
+package org.userservice.user_service.service.user_import;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an upload one line at a time, so only the current row is held in memory.
+ * NDJSON lines use the same JSON shape as /api/auth/register; CSV needs a header
+ * with name (or username), email, password and optionally age. Quoted CSV fields
+ * may contain commas and doubled quotes but not line breaks.
+ *
+ * A row that cannot be parsed is returned with an error instead of stopping the read.
+ */
+final class UserImportReader implements Closeable {
+
+    record Row(long number, RegisterRequestDTO request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long rowNumber;
+
+    UserImportReader(InputStream body, UserImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == UserImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /** Next non-blank row, or null at the end of the upload. */
+    Row next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        rowNumber++;
+        try {
+            RegisterRequestDTO request = format == UserImportFormat.NDJSON
+                    ? objectMapper.readValue(line, RegisterRequestDTO.class)
+                    : parseCsvRow(line);
+            return new Row(rowNumber, request, null);
+        } catch (JsonProcessingException ex) {
+            return new Row(rowNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            return new Row(rowNumber, null, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty, a header row is required");
+        }
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") && columns.containsKey("username")) {
+            columns.put("name", columns.get("username"));
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+    }
+
+    private RegisterRequestDTO parseCsvRow(String line) {
+        List<String> fields = splitCsvLine(line);
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setName(field(fields, "name"));
+        request.setEmail(field(fields, "email"));
+        request.setPassword(field(fields, "password"));
+
+        String age = field(fields, "age");
+        if (age != null) {
+            try {
+                request.setAge(Integer.valueOf(age));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid age: " + age);
+            }
+        }
+        return request;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,324 @@
+package org.userservice.user_service.service.user_import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.userservice.user_service.config.BoundedPasswordEncoder;
+import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
+import org.userservice.user_service.dto.response.user_import.UserImportFailureDTO;
+import org.userservice.user_service.dto.response.user_import.UserImportResultDTO;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.exception.PasswordHashingBusyException;
+import org.userservice.user_service.properties.PasswordHashingProperties;
+import org.userservice.user_service.properties.UserImportProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.registration.RegisteredEmailFilter;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.service.throttle.LoginThrottle;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
+import org.userservice.user_service.util.DataIntegrityErrors;
+import org.userservice.user_service.util.TextNormalization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. The upload is read in chunks of {@code chunkSize} rows; each chunk is
+ * validated with the RegisterRequestDTO rules, checked for taken emails with one IN query,
+ * hashed in parallel and inserted as one JDBC batch through a StatelessSession (no
+ * persistence context, so memory does not grow with the upload). A bad row is reported
+ * and skipped; it never stops the import.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final int MAX_BUSY_RETRIES = 20;
+    private static final long BUSY_BACKOFF_MILLIS = 50;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final SessionFactory sessionFactory;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final LoginThrottle loginThrottle;
+    private final UserTrigramIndex userTrigramIndex;
+    private final UserListCache userListCache;
+    private final UserStatsCounters userStatsCounters;
+    private final UserImportProperties properties;
+    private final ExecutorService hashExecutor;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             EntityManagerFactory entityManagerFactory,
+                             RegisteredEmailFilter registeredEmailFilter,
+                             LoginThrottle loginThrottle,
+                             UserTrigramIndex userTrigramIndex,
+                             UserListCache userListCache,
+                             UserStatsCounters userStatsCounters,
+                             UserImportProperties properties,
+                             PasswordHashingProperties passwordHashingProperties) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.loginThrottle = loginThrottle;
+        this.userTrigramIndex = userTrigramIndex;
+        this.userListCache = userListCache;
+        this.userStatsCounters = userStatsCounters;
+        this.properties = properties;
+
+        int parallelism = hashParallelism(properties, BoundedPasswordEncoder.poolSize(passwordHashingProperties));
+        AtomicInteger counter = new AtomicInteger();
+        // These threads only wait on the shared BCrypt pool, so hashing CPU stays bounded by it.
+        // The executor is shared by concurrent imports, so together they never hold more slots
+        this.hashExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Half the BCrypt pool by default and never all of it, so logins keep free workers during an import
+    static int hashParallelism(UserImportProperties properties, int hashingPoolSize) {
+        int limit = Math.max(1, hashingPoolSize - 1);
+        int requested = properties.getHashParallelism() > 0
+                ? properties.getHashParallelism()
+                : Math.max(1, hashingPoolSize / 2);
+        return Math.min(requested, limit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    public UserImportResultDTO importUsers(InputStream body, UserImportFormat format) {
+        long start = System.nanoTime();
+        Report report = new Report(properties.getMaxReportedFailures());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        log.info("Bulk import started, format={}", format);
+        try (UserImportReader reader = new UserImportReader(body, format, objectMapper)) {
+            List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            UserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, report);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import upload", ex);
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Bulk import finished: rows={}, imported={}, failed={}, durationMs={}",
+                report.rows, report.imported, report.failed, durationMillis);
+        return report.toDTO(durationMillis);
+    }
+
+    private void importChunk(List<UserImportReader.Row> rows, Report report) {
+        // 1. Parse errors, validation and duplicates within the chunk
+        List<UserImportReader.Row> candidates = new ArrayList<>(rows.size());
+        Set<String> seenInChunk = new HashSet<>();
+        for (UserImportReader.Row row : rows) {
+            report.rows++;
+            if (row.error() != null) {
+                report.fail(row, row.error());
+                continue;
+            }
+            String violations = violations(row.request());
+            if (violations != null) {
+                report.fail(row, violations);
+            } else if (!seenInChunk.add(TextNormalization.normalize(row.request().getEmail()))) {
+                report.fail(row, "Duplicate email in upload");
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        // 2. Taken emails, including ones imported by earlier chunks; only Bloom "maybe" hits are queried
+        List<String> maybeTaken = candidates.stream()
+                .map(row -> row.request().getEmail())
+                .filter(registeredEmailFilter::mightContain)
+                .map(TextNormalization::normalize)
+                .toList();
+        if (!maybeTaken.isEmpty()) {
+            Set<String> taken = new HashSet<>(userRepository.findExistingEmailNorms(maybeTaken));
+            candidates.removeIf(row -> {
+                boolean isTaken = taken.contains(TextNormalization.normalize(row.request().getEmail()));
+                if (isTaken) {
+                    report.fail(row, "Email already registered");
+                }
+                return isTaken;
+            });
+        }
+
+        // 3. Hash in parallel, 4. insert
+        Map<UserImportReader.Row, UserEntity> entities = hashAll(candidates, report);
+        if (!entities.isEmpty()) {
+            insert(entities, report);
+            userListCache.invalidate();
+        }
+    }
+
+    private Map<UserImportReader.Row, UserEntity> hashAll(List<UserImportReader.Row> rows, Report report) {
+        Map<UserImportReader.Row, Future<String>> hashes = new LinkedHashMap<>();
+        for (UserImportReader.Row row : rows) {
+            hashes.put(row, hashExecutor.submit(() -> encode(row.request().getPassword())));
+        }
+
+        Map<UserImportReader.Row, UserEntity> entities = new LinkedHashMap<>();
+        for (Map.Entry<UserImportReader.Row, Future<String>> entry : hashes.entrySet()) {
+            UserImportReader.Row row = entry.getKey();
+            try {
+                entities.put(row, toEntity(row.request(), entry.getValue().get()));
+            } catch (ExecutionException ex) {
+                log.warn("Hashing failed for import row={}: {}", row.number(), ex.getCause().getMessage());
+                report.fail(row, "Password hashing failed: " + ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                hashes.values().forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Bulk import interrupted", ex);
+            }
+        }
+        return entities;
+    }
+
+    // Shares the BCrypt pool with logins, so back off instead of failing the row when it is full
+    private String encode(String rawPassword) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordHashingBusyException ex) {
+                if (attempt >= MAX_BUSY_RETRIES) {
+                    throw ex;
+                }
+                Thread.sleep(BUSY_BACKOFF_MILLIS * attempt);
+            }
+        }
+    }
+
+    private void insert(Map<UserImportReader.Row, UserEntity> entities, Report report) {
+        try {
+            insertBatch(entities.values());
+            entities.forEach((row, user) -> imported(user, report));
+        } catch (RuntimeException batchFailure) {
+            // The batch rolled back (e.g. an email registered concurrently); retry row by row to isolate it
+            log.warn("Import batch of {} rows failed, retrying individually: {}", entities.size(), batchFailure.getMessage());
+            entities.forEach((row, user) -> {
+                user.setId(null);
+                try {
+                    insertBatch(List.of(user));
+                    imported(user, report);
+                } catch (RuntimeException ex) {
+                    report.fail(row, DataIntegrityErrors.isDuplicateKey(ex)
+                            ? "Email already registered"
+                            : "Insert failed: " + ex.getMessage());
+                }
+            });
+        }
+    }
+
+    private void insertBatch(Collection<UserEntity> users) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(users.size());
+            Transaction transaction = session.beginTransaction();
+            try {
+                users.forEach(session::insert);
+                transaction.commit();
+            } catch (RuntimeException ex) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private void imported(UserEntity user, Report report) {
+        registeredEmailFilter.add(user.getEmail());
+        loginThrottle.forgetMissing(user.getEmail());
+        userTrigramIndex.index(user.getId(), user.getUsername(), user.getEmail());
+        userStatsCounters.added(user);
+        report.imported++;
+    }
+
+    // RegisterRequestDTO rules plus the entity's age rules, which the DTO leaves optional
+    private String violations(RegisterRequestDTO request) {
+        List<String> messages = new ArrayList<>();
+        validator.validate(request).forEach(violation -> messages.add(violation.getMessage()));
+        validator.validateValue(UserEntity.class, "age", request.getAge())
+                .forEach(violation -> messages.add(violation.getMessage()));
+        if (messages.isEmpty()) {
+            return null;
+        }
+        return messages.stream().distinct().sorted().collect(Collectors.joining("; "));
+    }
+
+    private static UserEntity toEntity(RegisterRequestDTO request, String passwordHash) {
+        UserEntity user = new UserEntity();
+        user.setUsername(request.getName());
+        user.setEmail(request.getEmail());
+        user.setPassword(passwordHash);
+        user.setAge(request.getAge());
+        user.setRole(Role.USER);
+        // Set explicitly, a StatelessSession insert does not go through the persistence context
+        LocalDateTime now = LocalDateTime.now();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private static final class Report {
+
+        private final int maxReportedFailures;
+        private final List<UserImportFailureDTO> failures = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Report(int maxReportedFailures) {
+            this.maxReportedFailures = maxReportedFailures;
+        }
+
+        private void fail(UserImportReader.Row row, String reason) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                String email = row.request() != null ? row.request().getEmail() : null;
+                failures.add(new UserImportFailureDTO(row.number(), email, reason));
+            }
+        }
+
+        private UserImportResultDTO toDTO(long durationMillis) {
+            return new UserImportResultDTO(rows, imported, failed, failures, failed > failures.size(), durationMillis);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.userservice.user_service.service.user_list;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.properties.UserListProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.spec.UserFilter;
+
+/**
+ * Approximate row counts per filter shape. The first request for a shape pays for one
+ * COUNT; after that the cached value is returned and refreshed in the background once
+ * it is older than refresh-after, so admin pages never wait on a count again.
+ */
+@Component
+public class UserCountEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCountEstimator.class);
+
+    private final LoadingCache<UserFilter, Long> counts;
+
+    public UserCountEstimator(UserRepository userRepository,
+                              UserTrigramIndex userTrigramIndex,
+                              UserListProperties properties,
+                              MeterRegistry meterRegistry) {
+        UserListProperties.CountCache config = properties.getCountCache();
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .expireAfterAccess(config.getExpireAfter())
+                .recordStats()
+                .build(filter -> {
+                    long count = userRepository.count(Specification.allOf(userTrigramIndex.specificationsFor(filter)));
+                    log.debug("Counted {} users for filter={}", count, filter);
+                    return count;
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "userCountEstimates");
+    }
+
+    public long estimate(UserFilter filter) {
+        return counts.get(filter);
+    }
+}
@@ -0,0 +1,121 @@
+package org.userservice.user_service.service.user_list;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.config.ReplicaRoutingDataSource;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.properties.ReadReplicaProperties;
+import org.userservice.user_service.properties.UserListProperties;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * Short-lived cache of admin list pages, for dashboards that poll the same filter and page.
+ * Bounded by the number of cached rows rather than pages. Any user write drops every entry
+ * once it commits; a page loaded while a write was committing is not stored, and neither is
+ * a page read from a replica within the replicas' max lag of the last write, since that
+ * replica may not have the write yet. So a stale page can never outlive the write that
+ * made it stale.
+ */
+@Component
+public class UserListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserListCache.class);
+
+    private final boolean enabled;
+    private final Cache<Key, Page<UserResponseDTO>> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final long maxReplicaLagNanos;
+    private final BooleanSupplier readsFromReplica;
+    private final LongSupplier nanoClock;
+    private volatile long invalidatedAtNanos;
+
+    private record Key(UserFilter filter, int page, int size) {
+    }
+
+    public UserListCache(UserListProperties properties,
+                         ReadReplicaProperties replicaProperties,
+                         ObjectProvider<ReplicaRoutingDataSource> replicaRouting,
+                         MeterRegistry meterRegistry) {
+        this(properties, replicaProperties.getMaxLag(), () -> {
+            ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+            return routing != null && routing.readOnlyReadsGoToReplica();
+        }, System::nanoTime, meterRegistry);
+    }
+
+    UserListCache(UserListProperties properties, Duration maxReplicaLag, BooleanSupplier readsFromReplica,
+                  LongSupplier nanoClock, MeterRegistry meterRegistry) {
+        UserListProperties.ResultCache config = properties.getResultCache();
+        this.enabled = config.isEnabled();
+        this.maxReplicaLagNanos = maxReplicaLag.toNanos();
+        this.readsFromReplica = readsFromReplica;
+        this.nanoClock = nanoClock;
+        this.invalidatedAtNanos = nanoClock.getAsLong() - maxReplicaLagNanos;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxRows())
+                .weigher((Key key, Page<UserResponseDTO> page) -> page.getNumberOfElements() + 1)
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "userListPages");
+        Gauge.builder("user.list.cache.rows", pages,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Rows held by cached admin list pages")
+                .register(meterRegistry);
+        Gauge.builder("user.list.cache.hit.ratio", pages, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+    }
+
+    public Page<UserResponseDTO> get(UserFilter filter, int page, int size, Supplier<Page<UserResponseDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(filter, page, size);
+        Page<UserResponseDTO> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        boolean fromReplica = readsFromReplica.getAsBoolean();
+        Page<UserResponseDTO> loaded = loader.get();
+        // A replica may not have the last write yet; serve its page, but do not keep it
+        if (fromReplica && nanoClock.getAsLong() - invalidatedAtNanos < maxReplicaLagNanos) {
+            return loaded;
+        }
+        if (generation.get() == loadedAt) {
+            pages.put(key, loaded);
+            // Lost a race with invalidateNow between the check and the put
+            if (generation.get() != loadedAt) {
+                pages.invalidate(key);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        afterCommit(this::invalidateNow);
+    }
+
+    private void invalidateNow() {
+        invalidatedAtNanos = nanoClock.getAsLong();
+        generation.incrementAndGet();
+        pages.invalidateAll();
+        log.debug("Admin list cache cleared at generation={}", generation.get());
+    }
+}
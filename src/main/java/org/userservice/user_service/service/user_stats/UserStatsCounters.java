@@ -0,0 +1,178 @@
+package org.userservice.user_service.service.user_stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.userservice.user_service.dto.response.user_stats.UserStatsDTO;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.UserStatsProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserStatsRow;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.userservice.user_service.util.TransactionCallbacks.afterCommit;
+
+/**
+ * User totals by status, role and age group, kept in LongAdders so reading them costs
+ * nothing and writers never contend. Seeded from one grouped query, adjusted by every
+ * write path once it commits, and replaced from the database every reconcile-interval,
+ * which corrects any drift (e.g. a delta racing a reconcile, or rows changed by hand).
+ */
+@Component
+public class UserStatsCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsCounters.class);
+
+    // Lower bound of each age group; younger (legacy) rows count in the first one
+    private static final int[] AGE_GROUP_FLOORS = {0, 25, 35, 45, 55, 65};
+    private static final String[] AGE_GROUP_LABELS = {"under-25", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private final UserRepository userRepository;
+    private final UserStatsProperties properties;
+    private final ScheduledExecutorService reconcileExecutor;
+
+    private volatile Counters counters = new Counters();
+    private volatile Instant reconciledAt;
+
+    /** The attributes the statistics are broken down by, captured before and after a change. */
+    public record Sample(Role role, boolean active, Integer age) {
+
+        public static Sample of(UserEntity user) {
+            return new Sample(user.getRole(), Boolean.TRUE.equals(user.getActive()), user.getAge());
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder total = new LongAdder();
+        final LongAdder active = new LongAdder();
+        final Map<Role, LongAdder> byRole = new EnumMap<>(Role.class);
+        final LongAdder[] byAgeGroup = new LongAdder[AGE_GROUP_FLOORS.length];
+
+        Counters() {
+            for (Role role : Role.values()) {
+                byRole.put(role, new LongAdder());
+            }
+            for (int i = 0; i < byAgeGroup.length; i++) {
+                byAgeGroup[i] = new LongAdder();
+            }
+        }
+
+        void add(Role role, boolean isActive, Integer age, long delta) {
+            total.add(delta);
+            if (isActive) {
+                active.add(delta);
+            }
+            if (role != null) {
+                byRole.get(role).add(delta);
+            }
+            if (age != null) {
+                byAgeGroup[ageGroup(age)].add(delta);
+            }
+        }
+    }
+
+    public UserStatsCounters(UserRepository userRepository, UserStatsProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.reconcileExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void reconcile() {
+        Counters fresh = new Counters();
+        for (UserStatsRow row : userRepository.countByRoleActiveAndAge()) {
+            fresh.add(row.role(), Boolean.TRUE.equals(row.active()), row.age(), row.count());
+        }
+        long drift = fresh.total.sum() - counters.total.sum();
+        counters = fresh;
+        reconciledAt = Instant.now();
+        log.info("User statistics reconciled: total={}, drift={}", fresh.total.sum(), drift);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleReconcile() {
+        long intervalMillis = properties.getReconcileInterval().toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        reconcileExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException ex) {
+                log.warn("User statistics reconcile failed, keeping current counters: {}", ex.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcileExecutor.shutdownNow();
+    }
+
+    // Applied only once the write commits, so a rolled back change never shows up
+    public void added(UserEntity user) {
+        Sample sample = Sample.of(user);
+        afterCommit(() -> apply(sample, 1));
+    }
+
+    public void removed(UserEntity user) {
+        Sample sample = Sample.of(user);
+        afterCommit(() -> apply(sample, -1));
+    }
+
+    public void changed(Sample before, UserEntity after) {
+        Sample current = Sample.of(after);
+        if (before.equals(current)) {
+            return;
+        }
+        afterCommit(() -> {
+            apply(before, -1);
+            apply(current, 1);
+        });
+    }
+
+    public UserStatsDTO snapshot() {
+        Counters current = counters;
+        long total = current.total.sum();
+        long active = current.active.sum();
+
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        current.byRole.forEach((role, count) -> byRole.put(role.name(), count.sum()));
+        Map<String, Long> byAgeGroup = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_GROUP_LABELS.length; i++) {
+            byAgeGroup.put(AGE_GROUP_LABELS[i], current.byAgeGroup[i].sum());
+        }
+
+        return new UserStatsDTO(total, active, total - active, byRole, byAgeGroup, reconciledAt);
+    }
+
+    private void apply(Sample sample, long delta) {
+        counters.add(sample.role(), sample.active(), sample.age(), delta);
+    }
+
+    private static int ageGroup(int age) {
+        for (int i = AGE_GROUP_FLOORS.length - 1; i > 0; i--) {
+            if (age >= AGE_GROUP_FLOORS[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
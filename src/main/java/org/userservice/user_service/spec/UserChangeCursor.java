@@ -0,0 +1,44 @@
+package org.userservice.user_service.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the change feed: the (changedAt, id) of the last change a consumer has
+ * seen, plus syncedAt, the point before which the consumer already has every delete.
+ * A pass over old rows keeps syncedAt from its first page, and a caught-up consumer
+ * moves it forward on every poll, so syncedAt rather than changedAt says whether a
+ * tombstone prune can have dropped something the consumer still needs.
+ * Opaque to clients, like {@link UserCursor}, but not interchangeable with it.
+ */
+public record UserChangeCursor(LocalDateTime changedAt, Long id, LocalDateTime syncedAt) {
+
+    private static final String VERSION = "c2";
+    private static final String LEGACY_VERSION = "c1";
+
+    public String encode() {
+        String raw = VERSION + "|" + changedAt + "|" + id + "|" + syncedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length == 4 && VERSION.equals(parts[0])) {
+                return new UserChangeCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]),
+                        LocalDateTime.parse(parts[3]));
+            }
+            // Cursors issued before syncedAt existed only vouch for their own position
+            if (parts.length == 3 && LEGACY_VERSION.equals(parts[0])) {
+                LocalDateTime changedAt = LocalDateTime.parse(parts[1]);
+                return new UserChangeCursor(changedAt, Long.valueOf(parts[2]), changedAt);
+            }
+            throw new IllegalArgumentException("Invalid cursor");
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.userservice.user_service.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (createdAt desc, id desc) ordering of users. Clients only see it as
+ * an opaque token; the encoding may change without notice.
+ */
+public record UserCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String VERSION = "v1";
+
+    public String encode() {
+        String raw = VERSION + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new UserCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            // NumberFormatException and bad Base64 are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
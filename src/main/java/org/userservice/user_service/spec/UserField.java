@@ -0,0 +1,60 @@
+package org.userservice.user_service.spec;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * User attributes a client can select with {@code fields=}. Each name is both the JSON
+ * property of UserResponseDTO and the entity attribute it is read from, so a sparse
+ * response looks like the full one with properties left out.
+ */
+public enum UserField {
+
+    ID("id"),
+    USERNAME("username"),
+    EMAIL("email"),
+    AGE("age"),
+    CREATED_AT("createdAt");
+
+    private final String attribute;
+
+    UserField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /** Parses a comma-separated list such as "id,username"; the result is in declaration order. */
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        if (fields != null) {
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    selected.add(fromAttribute(trimmed));
+                }
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of: " + names());
+        }
+        return selected;
+    }
+
+    private static UserField fromAttribute(String name) {
+        for (UserField field : values()) {
+            if (field.attribute.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name + " (expected " + names() + ")");
+    }
+
+    private static String names() {
+        return Arrays.stream(values()).map(UserField::attribute).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,59 @@
+package org.userservice.user_service.spec;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.util.TextNormalization;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The admin list filters in normalized form (trimmed, lower-cased, blank as null), so
+ * requests that select the same rows compare equal and can share cached results.
+ * Age bounds are inclusive; the created-at window is [createdFrom, createdTo).
+ */
+public record UserFilter(String username,
+                         String email,
+                         Boolean active,
+                         String role,
+                         Integer minAge,
+                         Integer maxAge,
+                         LocalDateTime createdFrom,
+                         LocalDateTime createdTo) {
+
+    public static UserFilter of(String username, String email, Boolean active, String role) {
+        return of(username, email, active, role, null, null, null, null);
+    }
+
+    public static UserFilter of(String username, String email, Boolean active, String role,
+                                Integer minAge, Integer maxAge,
+                                LocalDateTime createdFrom, LocalDateTime createdTo) {
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new IllegalArgumentException("minAge must not be greater than maxAge");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        return new UserFilter(normalize(username), normalize(email), active, normalize(role),
+                minAge, maxAge, createdFrom, createdTo);
+    }
+
+    /** Mutable so callers can append e.g. a keyset predicate. */
+    public List<Specification<UserEntity>> toSpecifications() {
+        List<Specification<UserEntity>> specs = new ArrayList<>();
+
+        if (username != null) specs.add(UserSpecifications.usernameContains(username));
+        if (email != null) specs.add(UserSpecifications.emailContains(email));
+        if (active != null) specs.add(UserSpecifications.statusEquals(active));
+        if (role != null) specs.add(UserSpecifications.roleEquals(role));
+        if (minAge != null || maxAge != null) specs.add(UserSpecifications.ageBetween(minAge, maxAge));
+        if (createdFrom != null || createdTo != null) specs.add(UserSpecifications.createdBetween(createdFrom, createdTo));
+
+        return specs;
+    }
+
+    private static String normalize(String value) {
+        return (value == null || value.isBlank()) ? null : TextNormalization.normalize(value);
+    }
+}
@@ -1,7 +1,13 @@
 package org.userservice.user_service.spec;
 
 import org.springframework.data.jpa.domain.Specification;
+import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.util.TextNormalization;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
 
 public class UserSpecifications {
 
@@ -9,14 +15,14 @@ public class UserSpecifications {
         return (root, query, cb) ->
                 (username == null || username.isBlank())
                         ? null
-                        : cb.like(cb.lower(root.get("username")), "%" + username.toLowerCase() + "%");
+                        : cb.like(root.get("usernameNorm"), "%" + TextNormalization.normalize(username) + "%");
     }
 
     public static Specification<UserEntity> emailContains(String email) {
         return (root, query, cb) ->
                 (email == null || email.isBlank())
                         ? null
-                        : cb.like(cb.lower(root.get("email")), "%" + email.toLowerCase() + "%");
+                        : cb.like(root.get("emailNorm"), "%" + TextNormalization.normalize(email) + "%");
     }
 
     public static Specification<UserEntity> statusEquals(Boolean active) {
@@ -26,10 +32,65 @@ public class UserSpecifications {
                         : cb.equal(root.get("active"), active);
     }
 
+    // Compares the enum directly so the role column is used as stored; an unknown role matches nothing
     public static Specification<UserEntity> roleEquals(String role) {
+        return (root, query, cb) -> {
+            if (role == null || role.isBlank()) {
+                return null;
+            }
+            try {
+                return cb.equal(root.get("role"), Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                return cb.disjunction();
+            }
+        };
+    }
+
+    // Inclusive on both ends; either bound may be null
+    public static Specification<UserEntity> ageBetween(Integer minAge, Integer maxAge) {
+        return (root, query, cb) -> {
+            if (minAge != null && maxAge != null) {
+                return cb.between(root.get("age"), minAge, maxAge);
+            }
+            if (minAge != null) {
+                return cb.greaterThanOrEqualTo(root.get("age"), minAge);
+            }
+            return (maxAge == null) ? null : cb.lessThanOrEqualTo(root.get("age"), maxAge);
+        };
+    }
+
+    // Half-open [from, to) so consecutive windows neither overlap nor leave gaps
+    public static Specification<UserEntity> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(root.get("createdAt"), from),
+                        cb.lessThan(root.get("createdAt"), to));
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+            }
+            return (to == null) ? null : cb.lessThan(root.get("createdAt"), to);
+        };
+    }
+
+    // Restricts to candidate ids, e.g. from the trigram index; an empty list matches nothing
+    public static Specification<UserEntity> idIn(Collection<Long> ids) {
+        return (root, query, cb) ->
+                ids.isEmpty()
+                        ? cb.disjunction()
+                        : root.get("id").in(ids);
+    }
+
+    // Rows after the cursor in (createdAt desc, id desc) order; a range seek on the (created_at, id) index
+    public static Specification<UserEntity> after(UserCursor cursor) {
         return (root, query, cb) ->
-                (role == null || role.isBlank())
+                (cursor == null)
                         ? null
-                        : cb.equal(cb.lower(root.get("role")), role.toLowerCase());
+                        : cb.or(
+                                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                                cb.and(
+                                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                                        cb.lessThan(root.get("id"), cursor.id())));
     }
 }
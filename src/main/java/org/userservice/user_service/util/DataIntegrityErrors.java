@@ -0,0 +1,32 @@
+package org.userservice.user_service.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+public final class DataIntegrityErrors {
+
+    private DataIntegrityErrors() {
+    }
+
+    /** True when the violation is a unique-key clash rather than e.g. a not-null failure. */
+    public static boolean isDuplicateKey(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        return isDuplicateKey(ex.getMostSpecificCause());
+    }
+
+    /** Same check for exceptions thrown outside Spring's translation, e.g. by a Hibernate StatelessSession. */
+    public static boolean isDuplicateKey(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    // 23505 = unique violation (H2 / SQL standard), 1062 = ER_DUP_ENTRY (MySQL)
+                    && ("23505".equals(sql.getSQLState()) || sql.getErrorCode() == 1062)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
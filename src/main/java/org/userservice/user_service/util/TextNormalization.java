@@ -0,0 +1,14 @@
+package org.userservice.user_service.util;
+
+import java.util.Locale;
+
+public final class TextNormalization {
+
+    private TextNormalization() {
+    }
+
+    /** Trimmed and lower-cased; the form stored in the *_norm columns and used to look them up. */
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.jwt.JwtClaims;
 import org.userservice.user_service.service.jwt.JwtService;
 
 @Component
@@ -15,8 +16,8 @@ public class AuthValidator {
         this.jwtService = jwtService;
     }
 
-    public boolean isAdmin(String token) {
-        return "ADMIN".equals(jwtService.extractRole(token));
+    public boolean isAdmin(HttpServletRequest request) {
+        return currentClaims(request).isAdmin();
     }
 
     public String extractToken(HttpServletRequest request) {
@@ -27,14 +28,29 @@ public class AuthValidator {
         return header.substring(7);
     }
 
-    public boolean isAuthorized(HttpServletRequest request, Long targetUserId) {
-        String token = extractToken(request);
-        String role = jwtService.extractRole(token);
-        Long requesterUserId = jwtService.extractUserId(token);
+    /**
+     * Returns the claims verified by JwtAuthenticationFilter for this request,
+     * parsing the header only when the filter did not run (e.g. direct calls).
+     */
+    public JwtClaims currentClaims(HttpServletRequest request) {
+        Object claims = request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE);
+        if (claims instanceof JwtClaims jwtClaims) {
+            return jwtClaims;
+        }
+        JwtClaims parsed = jwtService.parseClaims(extractToken(request));
+        request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, parsed);
+        return parsed;
+    }
 
-        if (!("ADMIN".equals(role) || requesterUserId.equals(targetUserId))) {
+    public boolean isAuthorized(HttpServletRequest request, Long targetUserId) {
+        if (!canAccess(currentClaims(request), targetUserId)) {
             throw new UnauthorizedAccessException("You are not authorized to access this resource");
         }
         return true;
     }
-}
\ No newline at end of file
+
+    // Same rule as isAuthorized without throwing, for checking many ids in one request
+    public boolean canAccess(JwtClaims claims, Long targetUserId) {
+        return claims.isAdmin() || targetUserId.equals(claims.userId());
+    }
+}
@@ -0,0 +1,68 @@
+package org.userservice.user_service.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the same number of users in flushed chunks and reports inserts per second plus
+ * how many JDBC statements were prepared. Subclasses choose the entity (and so the id
+ * generator) and the Hibernate batching settings. Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+abstract class AbstractUserInsertBenchmark {
+
+    static final int USERS = 20_000;
+    static final int CHUNK = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    record Result(double insertsPerSecond, long preparedStatements) {
+    }
+
+    Result insertUsers(String label) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int offset = 0; offset < USERS; offset += CHUNK) {
+            List<Object> chunk = new ArrayList<>(CHUNK);
+            for (int i = offset; i < offset + CHUNK; i++) {
+                chunk.add(newUser(label, i));
+            }
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double perSecond = USERS / (elapsedNanos / 1_000_000_000.0);
+        long prepared = statistics.getPrepareStatementCount();
+        System.out.printf("%s: %d users in %d ms -> %.0f inserts/s, %d statements prepared%n",
+                label, USERS, elapsedNanos / 1_000_000, perSecond, prepared);
+        return new Result(perSecond, prepared);
+    }
+
+    // The entity under test; UserEntity with its pooled sequence unless a subclass overrides it
+    Object newUser(String label, int i) {
+        UserEntity user = new UserEntity();
+        user.setUsername("bench" + i);
+        user.setEmail(label + "-" + i + "@bench.test");
+        user.setPassword("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+        user.setAge(30);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
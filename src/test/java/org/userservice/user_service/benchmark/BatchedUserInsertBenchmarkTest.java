@@ -0,0 +1,26 @@
+package org.userservice.user_service.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pooled ids + JDBC batching, matching application.yml
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class BatchedUserInsertBenchmarkTest extends AbstractUserInsertBenchmark {
+
+    @Test
+    void batchedInserts() {
+        Result result = insertUsers("batched");
+
+        // one statement per batch of 100 plus one sequence call per 50 ids
+        assertTrue(result.preparedStatements() < USERS / 10,
+                "expected batched inserts, got " + result.preparedStatements() + " statements");
+    }
+}
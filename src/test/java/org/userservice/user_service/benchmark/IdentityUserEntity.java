@@ -0,0 +1,54 @@
+package org.userservice.user_service.benchmark;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.userservice.user_service.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Same columns as UserEntity before the switch to pooled sequence ids, so the baseline
+ * benchmark measures IDENTITY inserts. Test-only; it exists in the H2 test schema only.
+ */
+@Entity
+@Table(name = "identity_bench_users")
+class IdentityUserEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String username;
+
+    @Column(nullable = false, length = 100)
+    private String password;
+
+    @Column(unique = true, nullable = false, length = 100)
+    private String email;
+
+    @Column(nullable = false)
+    private Integer age;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @CreationTimestamp
+    @Column(updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    IdentityUserEntity(String username, String email, String password, Integer age, Role role) {
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.age = age;
+        this.role = role;
+    }
+
+    protected IdentityUserEntity() {
+    }
+}
@@ -0,0 +1,33 @@
+package org.userservice.user_service.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.userservice.user_service.entity.Role;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Baseline: IDENTITY ids with the same batching settings as application.yml. Hibernate must
+// run each INSERT immediately to learn the id, so batch_size has no effect.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class UnbatchedUserInsertBenchmarkTest extends AbstractUserInsertBenchmark {
+
+    @Override
+    Object newUser(String label, int i) {
+        return new IdentityUserEntity("bench" + i, label + "-" + i + "@bench.test",
+                "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm", 30, Role.USER);
+    }
+
+    @Test
+    void identityInserts() {
+        Result result = insertUsers("identity");
+
+        assertTrue(result.preparedStatements() >= USERS,
+                "expected one statement per row, got " + result.preparedStatements());
+    }
+}
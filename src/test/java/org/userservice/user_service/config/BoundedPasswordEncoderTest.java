@@ -0,0 +1,81 @@
+package org.userservice.user_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.userservice.user_service.exception.PasswordHashingBusyException;
+import org.userservice.user_service.properties.PasswordHashingProperties;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder encoder;
+
+    // Delegate that blocks until released, so the pool and queue can be filled deterministically
+    private final PasswordEncoder blockingDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ENC_" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    private BoundedPasswordEncoder create(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return new BoundedPasswordEncoder(blockingDelegate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        release.countDown();
+        encoder = create(1, 1);
+
+        assertEquals("ENC_secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "ENC_secret"));
+        assertFalse(encoder.matches("other", "ENC_secret"));
+    }
+
+    @Test
+    void testQueueFull_FailsFast() throws Exception {
+        encoder = create(1, 1);
+
+        callers.submit(() -> encoder.encode("a"));
+        callers.submit(() -> encoder.encode("b"));
+        // wait until one task is running and one is queued
+        for (int i = 0; i < 50 && encoder.inFlight() < 2; i++) {
+            Thread.sleep(20);
+        }
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+    }
+}
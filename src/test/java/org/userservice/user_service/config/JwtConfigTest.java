@@ -0,0 +1,36 @@
+package org.userservice.user_service.config;
+
+import io.jsonwebtoken.JwtException;
+import org.common.utils.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.userservice.user_service.service.jwt.JwtClaims;
+import org.userservice.user_service.service.jwt.JwtService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtConfigTest {
+
+    private static final String SECRET = "MySuperSuperSecretKeyThatIsLongEnough1234";
+
+    @Test
+    void testSigningKey_VerifiesTokensIssuedByJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+        JwtService jwtService = new JwtService(jwtUtil, JwtConfig.signingKey(SECRET));
+
+        JwtClaims claims = jwtService.parseClaims(jwtUtil.generateToken("user@example.com", 42L, "ADMIN"));
+
+        assertEquals("user@example.com", claims.email());
+        assertEquals(42L, claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertTrue(claims.expiresAt().getTime() > System.currentTimeMillis());
+    }
+
+    @Test
+    void testSigningKey_RejectsTokensFromAnotherSecret() {
+        JwtUtil other = new JwtUtil("AnotherSecretKeyThatIsAlsoLongEnough9876", 60_000);
+        JwtService jwtService = new JwtService(other, JwtConfig.signingKey(SECRET));
+
+        assertThrows(JwtException.class,
+                () -> jwtService.parseClaims(other.generateToken("user@example.com", 42L, "USER")));
+    }
+}
@@ -0,0 +1,122 @@
+package org.userservice.user_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each knows its own name
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                node("primary"), Map.of("replica-1", node("replica-1")), meterRegistry);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testReadOnlyTransaction_GoesToReplica() {
+        assertEquals("replica-1", readOnly.execute(status -> currentNode()));
+        assertEquals(1.0, meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void testReadWriteTransaction_GoesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testReadAfterWriteInSameRequest_StaysOnPrimary() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("replica-1", readOnly.execute(status -> currentNode()));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testReadInReadWriteTransaction_DoesNotPinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+
+        assertEquals("replica-1", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testRolledBackWrite_DoesNotPinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("update node set name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica-1", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void testIsWrite_RecognizesReadsBehindCommentsAndParentheses() {
+        assertFalse(WriteTrackingDataSource.isWrite("/* load UserEntity */ select u1_0.id from users u1_0"));
+        assertFalse(WriteTrackingDataSource.isWrite("(select id from users) union (select id from users)"));
+        assertTrue(WriteTrackingDataSource.isWrite("insert into users (id) values (?)"));
+        assertTrue(WriteTrackingDataSource.isWrite("/* delete */ delete from user_tombstones where deleted_at<?"));
+    }
+
+    @Test
+    void testOtherRequest_ReadsFromReplicaAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertEquals("replica-1", readOnly.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20))");
+        jdbc.update("delete from node");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -46,8 +46,7 @@ class AdminControllerTest {
 
     @Test
     void testGetUserById_Admin() {
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(true);
+        when(authValidator.isAdmin(request)).thenReturn(true);
         when(userService.getUserById(1L)).thenReturn(user);
 
         var response = adminController.getUserById(1L, request);
@@ -58,16 +57,14 @@ class AdminControllerTest {
 
     @Test
     void testGetUserById_NotAdmin() {
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(false);
+        when(authValidator.isAdmin(request)).thenReturn(false);
         assertThrows(UnauthorizedAccessException.class, () -> adminController.getUserById(1L, request));
     }
 
     @Test
     void testUpdateUser_Admin() {
         UserUpdateRequestDTO dto = new UserUpdateRequestDTO();
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(true);
+        when(authValidator.isAdmin(request)).thenReturn(true);
         when(userService.updateUserByAdmin(1L, dto)).thenReturn(user);
 
         var response = adminController.updateUser(1L, dto, request);
@@ -79,8 +76,7 @@ class AdminControllerTest {
     @Test
     void testUpdateUser_NotAdmin() {
         UserUpdateRequestDTO dto = new UserUpdateRequestDTO();
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(false);
+        when(authValidator.isAdmin(request)).thenReturn(false);
 
         assertThrows(UnauthorizedAccessException.class, () -> adminController.updateUser(1L, dto, request));
     }
@@ -88,7 +84,7 @@ class AdminControllerTest {
     @Test
     void testDeleteUser_Admin() {
         when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(true);
+        when(authValidator.isAdmin(request)).thenReturn(true);
 
         var response = adminController.deleteUser(1L, request);
 
@@ -99,7 +95,7 @@ class AdminControllerTest {
     @Test
     void testDeleteUser_NotAdmin() {
         when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(false);
+        when(authValidator.isAdmin(request)).thenReturn(false);
 
         assertThrows(UnauthorizedAccessException.class, () -> adminController.deleteUser(1L, request));
         verify(userService, never()).deleteUserByAdmin(anyLong(), anyString());
@@ -107,8 +103,7 @@ class AdminControllerTest {
 
     @Test
     void testGetUserById_UserNotFound() {
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(true);
+        when(authValidator.isAdmin(request)).thenReturn(true);
         when(userService.getUserById(999L)).thenThrow(new UserNotFoundException("User not found"));
 
         assertThrows(UserNotFoundException.class, () -> adminController.getUserById(999L, request));
@@ -117,8 +112,7 @@ class AdminControllerTest {
     @Test
     void testUpdateUser_UserNotFound() {
         UserUpdateRequestDTO dto = new UserUpdateRequestDTO();
-        when(authValidator.extractToken(request)).thenReturn("token");
-        when(authValidator.isAdmin("token")).thenReturn(true);
+        when(authValidator.isAdmin(request)).thenReturn(true);
         when(userService.updateUserByAdmin(999L, dto)).thenThrow(new UserNotFoundException("User not found"));
 
         assertThrows(UserNotFoundException.class, () -> adminController.updateUser(999L, dto, request));
@@ -0,0 +1,75 @@
+package org.userservice.user_service.controller.admin;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.userservice.user_service.dto.response.revocation.RevocationDeltaDTO;
+import org.userservice.user_service.dto.response.revocation.RevocationSnapshotDTO;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.validator.AuthValidator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationControllerTest {
+
+    @Mock
+    private RevokedUserIndex revokedUserIndex;
+
+    @Mock
+    private AuthValidator authValidator;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @InjectMocks
+    private RevocationController revocationController;
+
+    @Test
+    void testSnapshot() {
+        when(authValidator.isAdmin(request)).thenReturn(true);
+        RevocationSnapshotDTO snapshot = new RevocationSnapshotDTO("e1", 5L, List.of(1L, 2L));
+        when(revokedUserIndex.snapshot()).thenReturn(snapshot);
+
+        var response = revocationController.snapshot(request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(snapshot, response.getBody());
+    }
+
+    @Test
+    void testSnapshot_NotAdmin() {
+        when(authValidator.isAdmin(request)).thenReturn(false);
+
+        assertThrows(UnauthorizedAccessException.class, () -> revocationController.snapshot(request));
+        verifyNoInteractions(revokedUserIndex);
+    }
+
+    @Test
+    void testDelta() {
+        when(authValidator.isAdmin(request)).thenReturn(true);
+        RevocationDeltaDTO delta = new RevocationDeltaDTO("e1", 3L, 5L, false, List.of(1L), List.of());
+        when(revokedUserIndex.delta("e1", 3L)).thenReturn(delta);
+
+        var response = revocationController.delta("e1", 3L, request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(delta, response.getBody());
+        verify(revokedUserIndex).delta("e1", 3L);
+    }
+
+    @Test
+    void testDelta_NotAdmin() {
+        when(authValidator.isAdmin(request)).thenReturn(false);
+
+        assertThrows(UnauthorizedAccessException.class, () -> revocationController.delta("e1", 3L, request));
+        verifyNoInteractions(revokedUserIndex);
+    }
+}
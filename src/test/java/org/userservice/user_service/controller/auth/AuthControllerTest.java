@@ -7,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import org.userservice.user_service.dto.request.login.AuthRequestDTO;
+import org.userservice.user_service.dto.request.refresh.RefreshRequestDTO;
 import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
 import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
 import org.userservice.user_service.service.UserService;
@@ -186,4 +187,22 @@ class AuthControllerTest {
         assertEquals(2L, response.getBody().getUserId());
         verify(userService, times(1)).login(request);
     }
+
+    // ================= Refresh Tests =================
+
+    @Test
+    void testRefresh_Success() {
+        RefreshRequestDTO request = new RefreshRequestDTO();
+        request.setRefreshToken("refresh-1");
+
+        AuthResponseDTO dto = new AuthResponseDTO("token456", "USER", 1L, "refresh-2");
+        when(userService.refresh(request)).thenReturn(dto);
+
+        ResponseEntity<AuthResponseDTO> response = authController.refresh(request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("token456", response.getBody().getToken());
+        assertEquals("refresh-2", response.getBody().getRefreshToken());
+        verify(userService, times(1)).refresh(request);
+    }
 }
@@ -5,14 +5,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.ResponseEntity;
+import org.userservice.user_service.dto.request.user.UserBatchRequestDTO;
 import org.userservice.user_service.dto.request.user.UserPatchRequestDTO;
+import org.userservice.user_service.dto.response.user.UserBatchEntryDTO;
+import org.userservice.user_service.dto.response.user.UserBatchResponseDTO;
 import org.userservice.user_service.dto.response.user.UserResponseDTO;
 import org.userservice.user_service.service.UserService;
+import org.userservice.user_service.service.jwt.JwtClaims;
+import org.userservice.user_service.spec.UserField;
 import org.userservice.user_service.validator.AuthValidator;
 
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class UserControllerTest {
@@ -74,6 +85,49 @@ class UserControllerTest {
         assertEquals(null, response.getBody());
     }
 
+    @Test
+    void getUserFields_ParsesFieldsAfterAuthorization() {
+        when(authValidator.isAuthorized(request, 1L)).thenReturn(true);
+        Map<String, Object> fields = Map.of("id", 1L, "username", "John Doe");
+        when(userService.getUserFieldsById(1L, EnumSet.of(UserField.ID, UserField.USERNAME))).thenReturn(fields);
+
+        ResponseEntity<Map<String, Object>> response = userController.getUserFields(1L, "username, id", request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(fields, response.getBody());
+    }
+
+    @Test
+    void getUserFields_UnknownField_Throws() {
+        when(authValidator.isAuthorized(request, 1L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> userController.getUserFields(1L, "id,password", request));
+        verifyNoInteractions(userService);
+    }
+
+    // ==================== BATCH GET ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getUsersBatch_ChecksEachIdAgainstCallerClaims() {
+        JwtClaims claims = new JwtClaims("user@test.com", 5L, "USER", new Date());
+        when(authValidator.currentClaims(request)).thenReturn(claims);
+        when(authValidator.canAccess(claims, 5L)).thenReturn(true);
+        UserBatchResponseDTO batch = new UserBatchResponseDTO(List.of(UserBatchEntryDTO.notFound(5L)));
+        when(userService.getUsersByIds(eq(List.of(5L, 6L)), any())).thenReturn(batch);
+
+        ResponseEntity<UserBatchResponseDTO> response =
+                userController.getUsersBatch(new UserBatchRequestDTO(List.of(5L, 6L)), request);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(batch, response.getBody());
+        ArgumentCaptor<Predicate<Long>> canAccess = ArgumentCaptor.forClass(Predicate.class);
+        verify(userService).getUsersByIds(eq(List.of(5L, 6L)), canAccess.capture());
+        assertEquals(true, canAccess.getValue().test(5L));
+        assertEquals(false, canAccess.getValue().test(6L));
+        verify(authValidator, times(1)).currentClaims(request);
+    }
+
     // ==================== PATCH USER ====================
 
     @Test
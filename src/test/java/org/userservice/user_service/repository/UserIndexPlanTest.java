@@ -0,0 +1,87 @@
+package org.userservice.user_service.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with H2's EXPLAIN that the admin list query shapes are served by the composite
+ * indexes declared on UserEntity rather than a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserIndexPlanTest {
+
+    private static final String ORDER = " order by created_at desc, id desc";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UserEntity user = new UserEntity();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setAge(18 + i % 100);
+            user.setRole(i % 10 == 0 ? Role.ADMIN : Role.USER);
+            user.setActive(i % 7 != 0);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        entityManager.flush();
+        // Selectivity statistics, so the optimizer compares indexes on real numbers
+        entityManager.createNativeQuery("analyze").executeUpdate();
+    }
+
+    @Test
+    void testActiveAndRole_UseActiveRoleIndex() {
+        assertUsesIndex("idx_users_active_role_created_at_id",
+                "select id from users where active = true and role = 'USER'" + ORDER);
+    }
+
+    @Test
+    void testActiveRoleAndCreatedRange_UseActiveRoleIndex() {
+        assertUsesIndex("idx_users_active_role_created_at_id",
+                "select id from users where active = true and role = 'USER'"
+                        + " and created_at >= timestamp '2025-01-01 00:00:00'" + ORDER);
+    }
+
+    @Test
+    void testRoleOnly_UsesRoleIndex() {
+        assertUsesIndex("idx_users_role_created_at_id",
+                "select id from users where role = 'ADMIN'" + ORDER);
+    }
+
+    @Test
+    void testCreatedRange_UsesCreatedAtIndex() {
+        assertUsesIndex("idx_users_created_at_id",
+                "select id from users where created_at >= timestamp '2025-01-01 00:00:00'"
+                        + " and created_at < timestamp '2025-02-01 00:00:00'" + ORDER);
+    }
+
+    @Test
+    void testAgeRange_UsesAgeIndex() {
+        assertUsesIndex("idx_users_age",
+                "select id from users where age between 30 and 31" + ORDER);
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = String.valueOf(entityManager.createNativeQuery("explain " + sql).getSingleResult());
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,60 @@
+package org.userservice.user_service.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.spec.UserSpecifications;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserNormalizedLookupTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        UserEntity alice = new UserEntity();
+        alice.setUsername("Alice");
+        alice.setEmail("Alice@Example.com");
+        alice.setPassword("hash");
+        alice.setAge(30);
+        alice.setRole(Role.USER);
+        userRepository.save(alice);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindByEmail_IsCaseInsensitive() {
+        assertTrue(userRepository.findByEmail(" alice@example.COM").isPresent());
+        assertTrue(userRepository.existsByEmail("ALICE@example.com"));
+        assertFalse(userRepository.existsByEmail("bob@example.com"));
+    }
+
+    @Test
+    void testSetters_KeepNormalizedColumns() {
+        UserEntity alice = userRepository.findByEmail("alice@example.com").orElseThrow();
+
+        assertEquals("alice@example.com", alice.getEmailNorm());
+        assertEquals("alice", alice.getUsernameNorm());
+        assertEquals("Alice@Example.com", alice.getEmail());
+    }
+
+    @Test
+    void testUsernameContains_ComparesNormalizedColumn() {
+        assertEquals(1, userRepository.findAll(UserSpecifications.usernameContains("LIC"), Sort.by("id")).size());
+        assertEquals(List.of(), userRepository.findAll(UserSpecifications.usernameContains("bob"), Sort.by("id")));
+    }
+}
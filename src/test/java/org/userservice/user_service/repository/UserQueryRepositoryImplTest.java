@@ -0,0 +1,112 @@
+package org.userservice.user_service.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.spec.UserField;
+import org.userservice.user_service.spec.UserSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserQueryRepositoryImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        userRepository.saveAll(List.of(
+                user("alice", "Alice@Example.com", Role.ADMIN),
+                user("bob", "bob@example.com", Role.USER),
+                user("carol", "carol@example.com", Role.USER)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindSummaries_FiltersPagesAndCounts() {
+        Page<UserResponseDTO> page = userRepository.findSummaries(
+                UserSpecifications.roleEquals("user"), PageRequest.of(0, 1, Sort.by("username")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("bob", page.getContent().get(0).username());
+    }
+
+    @Test
+    void testFindSummaries_OffsetLimitWithoutManagedEntities() {
+        List<UserResponseDTO> rows = userRepository.findSummaries(null, Sort.by("username"), 1, 5);
+
+        assertEquals(List.of("bob", "carol"), rows.stream().map(UserResponseDTO::username).toList());
+        // Projections leave nothing in the persistence context to snapshot or dirty-check
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindSummaries_AgeAndCreatedRanges() {
+        Specification<UserEntity> spec = Specification.allOf(
+                UserSpecifications.ageBetween(30, null),
+                UserSpecifications.createdBetween(null, LocalDateTime.now().plusMinutes(1)));
+
+        assertEquals(3, userRepository.findSummaries(spec, Sort.by("id"), 0, 10).size());
+        assertTrue(userRepository.findSummaries(UserSpecifications.ageBetween(18, 29), Sort.by("id"), 0, 10).isEmpty());
+    }
+
+    @Test
+    void testStreamSummaries_ReadsInSortOrder() {
+        try (Stream<UserResponseDTO> rows = userRepository.streamSummaries(
+                UserSpecifications.roleEquals("user"), Sort.by(Sort.Order.desc("username")))) {
+            assertEquals(List.of("carol", "bob"), rows.map(UserResponseDTO::username).toList());
+        }
+    }
+
+    @Test
+    void testFindFields_SelectsOnlyRequestedColumns() {
+        List<Map<String, Object>> rows = userRepository.findFields(
+                UserSpecifications.roleEquals("user"), Sort.by("username"), 0, 10,
+                EnumSet.of(UserField.ID, UserField.USERNAME));
+
+        assertEquals(List.of("bob", "carol"), rows.stream().map(row -> row.get("username")).toList());
+        assertEquals(List.of("id", "username"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindFieldsById() {
+        Long id = userRepository.findByEmail("bob@example.com").orElseThrow().getId();
+        entityManager.clear();
+
+        assertEquals(Map.of("email", "bob@example.com"),
+                userRepository.findFieldsById(id, EnumSet.of(UserField.EMAIL)).orElseThrow());
+        assertTrue(userRepository.findFieldsById(-1L, EnumSet.of(UserField.EMAIL)).isEmpty());
+    }
+
+    private static UserEntity user(String username, String email, Role role) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setAge(30);
+        user.setRole(role);
+        return user;
+    }
+}
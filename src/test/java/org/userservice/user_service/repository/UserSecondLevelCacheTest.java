@@ -0,0 +1,98 @@
+package org.userservice.user_service.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: each repository call commits, as in the service, so the cache sees real completions
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setup() {
+        UserEntity user = new UserEntity();
+        user.setUsername("alice");
+        user.setEmail("Alice@Example.com");
+        user.setPassword("hash");
+        user.setAge(30);
+        user.setRole(Role.USER);
+        userId = userRepository.save(user).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testFindById_RepeatedLookupsSkipTheDatabase() {
+        userRepository.findById(userId).orElseThrow();
+        userRepository.findById(userId).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testFindByEmail_ResolvedThroughNaturalIdCache() {
+        userRepository.findByEmail("alice@example.com").orElseThrow();
+        assertEquals("alice", userRepository.findByEmail(" ALICE@example.com").orElseThrow().getUsername());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= 2);
+    }
+
+    @Test
+    void testUpdate_CachedEntityReflectsNewState() {
+        UserEntity user = userRepository.findById(userId).orElseThrow();
+        user.setEmail("alice.new@example.com");
+        user.setActive(false);
+        userRepository.save(user);
+
+        assertFalse(userRepository.findById(userId).orElseThrow().getActive());
+        assertTrue(userRepository.findByEmail("alice.new@example.com").isPresent());
+        assertTrue(userRepository.findByEmail("alice@example.com").isEmpty());
+    }
+
+    @Test
+    void testFindCredentials_SeesWritesThisCacheMissed() {
+        userRepository.findByEmail("alice@example.com").orElseThrow();
+        // Another instance changes the password and blacklists the user; this instance's cache keeps the old row
+        jdbcTemplate.update("update users set password = 'new-hash', active = false where id = ?", userId);
+
+        assertEquals("hash", userRepository.findByEmail("alice@example.com").orElseThrow().getPassword());
+        UserCredentialsRow credentials = userRepository.findCredentialsByEmail("ALICE@example.com").orElseThrow();
+        assertEquals("new-hash", credentials.password());
+        assertFalse(credentials.active());
+        assertFalse(userRepository.findCredentialsById(userId).orElseThrow().active());
+    }
+}
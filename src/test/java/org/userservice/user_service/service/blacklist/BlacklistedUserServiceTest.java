@@ -9,6 +9,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.userservice.user_service.entity.UserEntity;
 import org.userservice.user_service.properties.WalletServiceProperties;
 import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.refresh.RefreshTokenService;
+import org.userservice.user_service.service.user_details.UserDetailsCache;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
 import reactor.core.publisher.Mono;
 
 import java.util.Optional;
@@ -43,6 +47,21 @@ class BlacklistedUserServiceTest {
     @Mock
     private WalletServiceProperties walletServiceProperties;
 
+    @Mock
+    private RevokedUserIndex revokedUserIndex;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserListCache userListCache;
+
+    @Mock
+    private UserStatsCounters userStatsCounters;
+
     private BlacklistedUserService service;
 
     private UserEntity activeUser;
@@ -59,7 +78,7 @@ class BlacklistedUserServiceTest {
         // Mock WalletServiceProperties
         when(walletServiceProperties.getAdminUrl()).thenReturn("http://localhost:8082/admin/wallets");
 
-        service = new BlacklistedUserService(userRepository, webClientBuilder, walletServiceProperties);
+        service = new BlacklistedUserService(userRepository, webClientBuilder, walletServiceProperties, revokedUserIndex, userDetailsCache, refreshTokenService, userListCache, userStatsCounters);
 
         // Setup users
         activeUser = new UserEntity();
@@ -101,6 +120,9 @@ class BlacklistedUserServiceTest {
 
         assertFalse(activeUser.getActive());
         verify(userRepository).save(activeUser);
+        verify(revokedUserIndex).revoke(1L);
+        verify(userListCache).invalidate();
+        verify(refreshTokenService).revokeAllForUser(1L);
         verify(webClient).post();
     }
 
@@ -117,6 +139,7 @@ class BlacklistedUserServiceTest {
         service.blacklistUser(2L);
 
         verify(userRepository, never()).save(any());
+        verify(revokedUserIndex, never()).revoke(any());
         verify(webClient, never()).post();
     }
 
@@ -131,6 +154,8 @@ class BlacklistedUserServiceTest {
         service.unblockUser(2L);
 
         assertTrue(inactiveUser.getActive());
+        verify(revokedUserIndex).restore(2L);
+        verify(userListCache).invalidate();
         verify(webClient).post();
     }
 
@@ -0,0 +1,120 @@
+package org.userservice.user_service.service.blacklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.userservice.user_service.dto.response.revocation.RevocationDeltaDTO;
+import org.userservice.user_service.dto.response.revocation.RevocationSnapshotDTO;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.UserTombstoneRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevokedUserIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserTombstoneRepository userTombstoneRepository;
+
+    private RevokedUserIndex index;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.findInactiveUserIds()).thenReturn(List.of(3L, 9L));
+        when(userTombstoneRepository.findAllUserIds()).thenReturn(List.of(200L));
+        index = new RevokedUserIndex(userRepository, userTombstoneRepository);
+        index.load();
+    }
+
+    @Test
+    void testLoad_SeedsInactiveAndDeletedUsers() {
+        assertTrue(index.isRevoked(3L));
+        assertTrue(index.isRevoked(9L));
+        assertTrue(index.isRevoked(200L));
+        assertFalse(index.isRevoked(1L));
+        assertFalse(index.isRevoked(null));
+    }
+
+    @Test
+    void testRevokeAndRestore() {
+        index.revoke(1L);
+        assertTrue(index.isRevoked(1L));
+
+        index.restore(1L);
+        assertFalse(index.isRevoked(1L));
+    }
+
+    @Test
+    void testRevoke_GrowsBeyondLoadedRange() {
+        index.revoke(1_000_000L);
+
+        assertTrue(index.isRevoked(1_000_000L));
+        assertFalse(index.isRevoked(999_999L));
+    }
+
+    @Test
+    void testSnapshot_ListsAllRevokedIds() {
+        index.revoke(130L);
+
+        RevocationSnapshotDTO snapshot = index.snapshot();
+
+        assertEquals(List.of(3L, 9L, 130L, 200L), snapshot.revokedUserIds());
+    }
+
+    @Test
+    void testDelta_ReturnsChangesSinceVersion() {
+        RevocationSnapshotDTO start = index.snapshot();
+        index.revoke(1L);
+        index.revoke(2L);
+        index.restore(3L);
+        index.restore(2L);
+
+        RevocationDeltaDTO delta = index.delta(start.epoch(), start.version());
+
+        assertFalse(delta.snapshotRequired());
+        assertEquals(start.version() + 4, delta.toVersion());
+        assertEquals(List.of(1L), delta.revokedUserIds());
+        assertEquals(List.of(3L, 2L), delta.restoredUserIds());
+    }
+
+    @Test
+    void testDelta_UpToDate() {
+        RevocationSnapshotDTO current = index.snapshot();
+
+        RevocationDeltaDTO delta = index.delta(current.epoch(), current.version());
+
+        assertFalse(delta.snapshotRequired());
+        assertTrue(delta.revokedUserIds().isEmpty());
+    }
+
+    @Test
+    void testDelta_AfterReload_RequiresSnapshot() {
+        RevocationSnapshotDTO start = index.snapshot();
+        index.revoke(1L);
+        index.load();
+        index.revoke(2L);
+
+        // The version was reached again after the reload, only the epoch tells them apart
+        assertEquals(start.version() + 1, index.snapshot().version());
+        assertTrue(index.delta(start.epoch(), start.version()).snapshotRequired());
+    }
+
+    @Test
+    void testDelta_FromAnotherInstance_RequiresSnapshot() {
+        RevokedUserIndex other = new RevokedUserIndex(userRepository, userTombstoneRepository);
+        other.load();
+        other.revoke(1L);
+
+        RevocationDeltaDTO delta = index.delta(other.snapshot().epoch(), 0);
+
+        assertTrue(delta.snapshotRequired());
+        assertEquals(index.snapshot().epoch(), delta.epoch());
+    }
+}
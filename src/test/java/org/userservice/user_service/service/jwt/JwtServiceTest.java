@@ -1,12 +1,20 @@
 package org.userservice.user_service.service.jwt;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.common.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -139,4 +147,59 @@ class JwtServiceTest {
         assertThrows(IllegalArgumentException.class, () -> jwtService.extractUserId(invalidToken));
         verify(jwtUtil, times(1)).extractUserId(invalidToken);
     }
+
+    // ------------------- PARSE CLAIMS -------------------
+    private final SecretKey key = Keys.hmacShaKeyFor(
+            "MySuperSuperSecretKeyThatIsLongEnough1234".getBytes(StandardCharsets.UTF_8));
+
+    private String signedToken(SecretKey signingKey, long expiresInMillis) {
+        return Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("userId", 42L)
+                .claim("role", "ADMIN")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Test
+    void testParseClaims_Success() {
+        JwtService service = new JwtService(jwtUtil, key);
+
+        JwtClaims claims = service.parseClaims(signedToken(key, 60_000));
+
+        assertEquals("user@example.com", claims.email());
+        assertEquals(42L, claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertTrue(claims.isAdmin());
+        assertNotNull(claims.expiresAt());
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void testParseClaims_Expired() {
+        JwtService service = new JwtService(jwtUtil, key);
+
+        assertThrows(ExpiredJwtException.class, () -> service.parseClaims(signedToken(key, -60_000)));
+    }
+
+    @Test
+    void testParseClaims_WrongSignature() {
+        JwtService service = new JwtService(jwtUtil, key);
+        SecretKey otherKey = Keys.hmacShaKeyFor(
+                "AnotherSecretKeyThatIsAlsoLongEnough9876".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(JwtException.class, () -> service.parseClaims(signedToken(otherKey, 60_000)));
+    }
+
+    @Test
+    void testIsTokenValid_WithClaims() {
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetails.getUsername()).thenReturn("user@example.com");
+        JwtClaims claims = new JwtClaims("user@example.com", 1L, "USER", new Date());
+
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        verifyNoInteractions(jwtUtil);
+    }
 }
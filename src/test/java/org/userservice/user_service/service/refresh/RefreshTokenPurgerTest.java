@@ -0,0 +1,74 @@
+package org.userservice.user_service.service.refresh;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.userservice.user_service.entity.RefreshTokenEntity;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.repository.RefreshTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class RefreshTokenPurgerTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPurge_DeletesExpiredAndLongRevokedInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenEntity active = token(now.plusDays(1), null);
+        RefreshTokenEntity recentlyRevoked = token(now.plusDays(1), now.minusHours(1));
+        refreshTokenRepository.saveAll(List.of(
+                active,
+                recentlyRevoked,
+                token(now.minusMinutes(1), null),
+                token(now.minusDays(1), null),
+                token(now.plusDays(1), now.minusDays(8))));
+        entityManager.flush();
+
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getRefreshTokenPurge().setBatchSize(2);
+        RefreshTokenPurger purger = new RefreshTokenPurger(refreshTokenRepository, authProperties, transactionManager);
+
+        assertEquals(3, purger.purge());
+        entityManager.clear();
+        assertEquals(List.of(active.getId(), recentlyRevoked.getId()),
+                refreshTokenRepository.findAll().stream().map(RefreshTokenEntity::getId).sorted().toList());
+    }
+
+    @Test
+    void testRevoke_StampsRevokedAt() {
+        RefreshTokenEntity token = refreshTokenRepository.save(token(LocalDateTime.now().plusDays(1), null));
+        entityManager.flush();
+
+        assertEquals(1, refreshTokenRepository.revokeIfActive(token.getId()));
+        entityManager.clear();
+
+        assertNotNull(refreshTokenRepository.findById(token.getId()).orElseThrow().getRevokedAt());
+    }
+
+    private static RefreshTokenEntity token(LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        RefreshTokenEntity token = new RefreshTokenEntity();
+        token.setTokenHash(UUID.randomUUID().toString().replace("-", ""));
+        token.setUserId(1L);
+        token.setFamilyId(UUID.randomUUID().toString());
+        token.setExpiresAt(expiresAt);
+        token.setRevoked(revokedAt != null);
+        token.setRevokedAt(revokedAt);
+        return token;
+    }
+}
@@ -0,0 +1,126 @@
+package org.userservice.user_service.service.refresh;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
+import org.userservice.user_service.entity.RefreshTokenEntity;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.exception.InvalidRefreshTokenException;
+import org.userservice.user_service.properties.AuthProperties;
+import org.userservice.user_service.repository.RefreshTokenRepository;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.service.jwt.JwtService;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private RevokedUserIndex revokedUserIndex;
+
+    private RefreshTokenService service;
+
+    private UserCredentialsRow user;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new RefreshTokenService(refreshTokenRepository, userRepository, jwtService,
+                revokedUserIndex, new AuthProperties());
+
+        when(refreshTokenRepository.save(any(RefreshTokenEntity.class))).thenAnswer(invocation -> {
+            RefreshTokenEntity entity = invocation.getArgument(0);
+            entity.setId(100L);
+            return entity;
+        });
+
+        user = new UserCredentialsRow(1L, "user@test.com", "HASH", Role.USER, true);
+    }
+
+    @Test
+    void testIssue_StoresOnlyHash() {
+        String raw = service.issue(1L);
+
+        ArgumentCaptor<RefreshTokenEntity> captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(raw, captor.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(raw), captor.getValue().getTokenHash());
+        assertEquals(1L, captor.getValue().getUserId());
+    }
+
+    @Test
+    void testRefresh_RotatesToken() {
+        String raw = service.issue(1L);
+        when(refreshTokenRepository.revokeIfActive(100L)).thenReturn(1);
+        when(userRepository.findCredentialsById(1L)).thenReturn(Optional.of(user));
+        when(jwtService.generateToken("user@test.com", 1L, "USER")).thenReturn("ACCESS");
+
+        AuthResponseDTO response = service.refresh(raw);
+
+        assertEquals("ACCESS", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertNotEquals(raw, response.getRefreshToken());
+        // served from the issued-token cache, no select by hash
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+    }
+
+    @Test
+    void testRefresh_ReuseRevokesFamily() {
+        String raw = service.issue(1L);
+        when(refreshTokenRepository.revokeIfActive(100L)).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.refresh(raw));
+        verify(refreshTokenRepository).revokeFamily(any());
+        verify(jwtService, never()).generateToken(any(), any(), any());
+    }
+
+    @Test
+    void testRefresh_UnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.refresh("unknown"));
+    }
+
+    @Test
+    void testRefresh_Expired() {
+        RefreshTokenEntity expired = new RefreshTokenEntity();
+        expired.setId(5L);
+        expired.setUserId(1L);
+        expired.setFamilyId("family");
+        expired.setTokenHash(RefreshTokenService.hash("old"));
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(expired.getTokenHash())).thenReturn(Optional.of(expired));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.refresh("old"));
+        verify(refreshTokenRepository, never()).revokeIfActive(any());
+    }
+
+    @Test
+    void testRefresh_BlacklistedUser() {
+        String raw = service.issue(1L);
+        when(refreshTokenRepository.revokeIfActive(100L)).thenReturn(1);
+        when(revokedUserIndex.isRevoked(1L)).thenReturn(true);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.refresh(raw));
+        verify(userRepository, never()).findCredentialsById(any());
+    }
+}
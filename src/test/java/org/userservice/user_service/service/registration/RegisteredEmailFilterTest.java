@@ -0,0 +1,61 @@
+package org.userservice.user_service.service.registration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.userservice.user_service.properties.RegistrationProperties;
+import org.userservice.user_service.repository.UserRepository;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        RegistrationProperties properties = new RegistrationProperties();
+        properties.setExpectedEmails(10_000);
+        properties.setFalsePositiveRate(0.01);
+        filter = new RegisteredEmailFilter(userRepository, properties);
+    }
+
+    @Test
+    void testRebuild_LoadsExistingEmails() {
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("a@test.com", "b@test.com"));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain("a@test.com"));
+        assertTrue(filter.mightContain("B@Test.com"));
+        assertFalse(filter.mightContain("c@test.com"));
+    }
+
+    @Test
+    void testAdd_NoFalseNegatives() {
+        IntStream.range(0, 5_000).forEach(i -> filter.add("user" + i + "@test.com"));
+
+        IntStream.range(0, 5_000).forEach(i -> assertTrue(filter.mightContain("user" + i + "@test.com")));
+    }
+
+    @Test
+    void testFalsePositiveRateWithinBound() {
+        IntStream.range(0, 10_000).forEach(i -> filter.add("user" + i + "@test.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain("other" + i + "@test.com"))
+                .count();
+
+        // configured for 1%, allow headroom for hash variance
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,118 @@
+package org.userservice.user_service.service.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.userservice.user_service.properties.UserSearchProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserSearchRow;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserTrigramIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserSearchProperties properties;
+    private UserTrigramIndex index;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        properties = new UserSearchProperties();
+        index = new UserTrigramIndex(userRepository, transactionManager, properties, new SimpleMeterRegistry());
+        when(userRepository.streamSearchRows()).thenReturn(Stream.of(
+                new UserSearchRow(1L, "JohnDoe", "john@mail.com"),
+                new UserSearchRow(2L, "janedoe", "jane@corp.com"),
+                new UserSearchRow(3L, "bob", "bob@mail.com")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testCandidates_FallsBackUntilBuilt() {
+        assertFalse(index.isReady());
+        assertEquals(Optional.empty(), index.candidates("doe", null));
+    }
+
+    @Test
+    void testCandidates_SubstringOfUsernameAndEmail() {
+        index.rebuild();
+
+        assertEquals(Optional.of(Set.of(1L, 2L)), index.candidates("doe", null));
+        assertEquals(Optional.of(Set.of(1L, 3L)), index.candidates(null, "@mail."));
+        assertEquals(Optional.of(Set.of(1L)), index.candidates("doe", "mail"));
+        assertEquals(Optional.of(Set.of()), index.candidates("xyz", null));
+    }
+
+    @Test
+    void testCandidates_ShortOrWildcardTermsUseSql() {
+        index.rebuild();
+
+        assertEquals(Optional.empty(), index.candidates("jo", null));
+        assertEquals(Optional.empty(), index.candidates("j%n", null));
+    }
+
+    @Test
+    void testCandidates_FoldsCaseAccentsAndLigaturesLikeTheCollation() {
+        index.rebuild();
+        index.index(5L, "Zoë Straße", "zoe@mail.com");
+
+        // LIKE under *_ai_ci matches these, so the index must keep them as candidates
+        assertEquals(Optional.of(Set.of(5L)), index.candidates("ZOE", null));
+        assertEquals(Optional.of(Set.of(5L)), index.candidates("strasse", null));
+        assertEquals(Optional.of(Set.of(1L)), index.candidates("jöhn", null));
+        // Nothing left outside ASCII after folding: SQL decides
+        assertEquals(Optional.empty(), index.candidates("иван", null));
+    }
+
+    @Test
+    void testOverlay_UpdatesAndDeletesAreVisible() {
+        index.rebuild();
+
+        index.index(3L, "robert", "bob@mail.com");
+        index.index(4L, "doe_junior", "junior@mail.com");
+        index.remove(2L);
+
+        assertEquals(Optional.of(Set.of(1L, 4L)), index.candidates("doe", null));
+        assertEquals(Optional.of(Set.of(3L)), index.candidates("rober", null));
+        assertEquals(Optional.of(Set.of()), index.candidates("bob", null));
+    }
+
+    @Test
+    void testSpecificationsFor_AddsIdRestrictionOnlyWhenIndexed() {
+        index.rebuild();
+
+        assertEquals(2, index.specificationsFor(UserFilter.of("doe", null, null, null)).size());
+        assertEquals(1, index.specificationsFor(UserFilter.of("do", null, null, null)).size());
+    }
+
+    @Test
+    void testPostingList_RoundTripAndIntersect() {
+        PostingList.Builder builder = new PostingList.Builder();
+        for (long id : new long[]{1, 1, 5, 300, 70_000, 5_000_000_000L}) {
+            builder.add(id);
+        }
+        PostingList list = builder.build();
+
+        assertArrayEquals(new long[]{1, 5, 300, 70_000, 5_000_000_000L}, list.toArray());
+        assertArrayEquals(new long[]{5, 5_000_000_000L}, list.retainAll(new long[]{2, 5, 6, 5_000_000_000L}));
+    }
+}
@@ -0,0 +1,105 @@
+package org.userservice.user_service.service.throttle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.userservice.user_service.exception.TooManyLoginAttemptsException;
+import org.userservice.user_service.properties.LoginThrottleProperties;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private LoginThrottleProperties properties;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setup() {
+        properties = new LoginThrottleProperties();
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setMaxFailuresPerEmail(3);
+        properties.setMaxAttemptsPerIp(5);
+        throttle = new LoginThrottle(properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void testEmailLockedAfterMaxFailures() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("user@test.com", null);
+            throttle.recordFailure("User@Test.com");
+        }
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.checkAllowed("user@test.com", null));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertDoesNotThrow(() -> throttle.checkAllowed("other@test.com", null));
+    }
+
+    @Test
+    void testSuccessResetsEmailFailures() {
+        throttle.recordFailure("user@test.com");
+        throttle.recordFailure("user@test.com");
+        throttle.recordSuccess("user@test.com");
+        throttle.recordFailure("user@test.com");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@test.com", null));
+    }
+
+    @Test
+    void testIpLimitedOnAllAttempts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAllowed("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.checkAllowed("x@test.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("x@test.com", "10.0.0.2"));
+    }
+
+    @Test
+    void testWindowSlidesOut() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user@test.com");
+        }
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@test.com", null));
+    }
+
+    @Test
+    void testMissingEmailCache() {
+        assertFalse(throttle.isKnownMissing("ghost@test.com"));
+
+        throttle.rememberMissing("ghost@test.com", throttle.missingGeneration());
+        assertTrue(throttle.isKnownMissing("GHOST@test.com"));
+
+        throttle.forgetMissing("ghost@test.com");
+        assertFalse(throttle.isKnownMissing("ghost@test.com"));
+    }
+
+    @Test
+    void testMissingEmailCache_LookupBeforeSignUpIsNotRemembered() {
+        long generation = throttle.missingGeneration();
+        // The account commits while the login's lookup is still on its way back
+        throttle.forgetMissing("ghost@test.com");
+
+        throttle.rememberMissing("ghost@test.com", generation);
+
+        assertFalse(throttle.isKnownMissing("ghost@test.com"));
+    }
+
+    @Test
+    void testDisabled() {
+        properties.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user@test.com");
+            throttle.checkAllowed("user@test.com", "10.0.0.1");
+        }
+        throttle.rememberMissing("ghost@test.com", throttle.missingGeneration());
+
+        assertFalse(throttle.isKnownMissing("ghost@test.com"));
+    }
+}
@@ -2,21 +2,53 @@ package org.userservice.user_service.service.user;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.mockito.*;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.userservice.user_service.dto.request.login.AuthRequestDTO;
+import org.userservice.user_service.dto.request.register.RegisterRequestDTO;
 import org.userservice.user_service.dto.request.user.UserPatchRequestDTO;
 import org.userservice.user_service.dto.request.user.UserRequestDTO;
 import org.userservice.user_service.dto.request.user.UserUpdateRequestDTO;
+import org.userservice.user_service.dto.response.auth.AuthResponseDTO;
+import org.userservice.user_service.dto.response.page.CursorPageDTO;
+import org.userservice.user_service.dto.response.page.SlicePageDTO;
+import org.userservice.user_service.dto.response.user.UserBatchEntryDTO;
+import org.userservice.user_service.dto.response.user.UserBatchResponseDTO;
 import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.exception.TooManyLoginAttemptsException;
+import org.userservice.user_service.exception.UserAlreadyExistsException;
 import org.userservice.user_service.mapper.UserMapper;
+import org.userservice.user_service.properties.UserBatchProperties;
 import org.userservice.user_service.properties.WalletServiceProperties;
 import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserCredentialsRow;
 import org.userservice.user_service.service.UserService;
+import org.userservice.user_service.service.blacklist.RevokedUserIndex;
+import org.userservice.user_service.service.jwt.JwtService;
+import org.userservice.user_service.service.refresh.RefreshTokenService;
+import org.userservice.user_service.service.registration.RegisteredEmailFilter;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.service.throttle.LoginThrottle;
+import org.userservice.user_service.service.user_changes.UserChangeFeed;
+import org.userservice.user_service.service.user_details.UserDetailsCache;
+import org.userservice.user_service.service.user_list.UserCountEstimator;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
+import org.userservice.user_service.spec.UserCursor;
+import org.userservice.user_service.spec.UserField;
+import org.userservice.user_service.spec.UserFilter;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -47,12 +79,52 @@ public class UserServiceTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Mock
+    private RevokedUserIndex revokedUserIndex;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private UserCountEstimator userCountEstimator;
+
+    @Mock
+    private UserTrigramIndex userTrigramIndex;
+
+    @Mock
+    private UserListCache userListCache;
+
+    @Mock
+    private UserStatsCounters userStatsCounters;
+
+    @Mock
+    private UserChangeFeed userChangeFeed;
+
+    @Spy
+    private UserBatchProperties userBatchProperties = new UserBatchProperties();
+
     @InjectMocks
     private UserService userService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        when(userTrigramIndex.specificationsFor(any(UserFilter.class)))
+                .thenAnswer(inv -> inv.<UserFilter>getArgument(0).toSpecifications());
+        when(userListCache.get(any(UserFilter.class), anyInt(), anyInt(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(3).get());
     }
 
     // ------------------- CREATE USER -------------------
@@ -79,33 +151,89 @@ public class UserServiceTest {
     // ------------------- GET ALL USERS -------------------
     @Test
     void testGetAllUsers() {
-        UserEntity e = new UserEntity();
-        e.setId(1L);
-        when(userRepository.findAll()).thenReturn(List.of(e));
-
         UserResponseDTO dto = new UserResponseDTO(1L, "A", "mail@mail.com", 30, LocalDateTime.now());
-        when(userMapper.toDTO(e)).thenReturn(dto);
+        when(userRepository.findAllSummaries()).thenReturn(List.of(dto));
 
         List<UserResponseDTO> result = userService.getAllUsers();
         assertEquals(1, result.size());
         assertEquals("A", result.get(0).username());
+        verify(userRepository, never()).findAll();
     }
 
     // ------------------- GET USER BY ID -------------------
     @Test
     void testGetUserById() {
-        UserEntity e = new UserEntity();
-        e.setId(10L);
-        when(userRepository.findById(10L)).thenReturn(Optional.of(e));
-
-        UserResponseDTO mapped = new UserResponseDTO(10L, "X", "x@mail.com", 22, LocalDateTime.now());
-        when(userMapper.toDTO(e)).thenReturn(mapped);
+        UserEntity entity = new UserEntity();
+        entity.setId(10L);
+        UserResponseDTO dto = new UserResponseDTO(10L, "X", "x@mail.com", 22, LocalDateTime.now());
+        when(userRepository.findById(10L)).thenReturn(Optional.of(entity));
+        when(userMapper.toDTO(entity)).thenReturn(dto);
 
         UserResponseDTO result = userService.getUserById(10L);
         assertEquals(10L, result.id());
         assertEquals("X", result.username());
     }
 
+    // ------------------- GET USERS BY IDS -------------------
+    @Test
+    void testGetUsersByIds_KeepsRequestOrderAndMarksMissingAndForbidden() {
+        UserEntity first = new UserEntity();
+        first.setId(1L);
+        UserResponseDTO firstDto = new UserResponseDTO(1L, "A", "a@mail.com", 22, LocalDateTime.now());
+        when(userRepository.findAllByIdInOrder(List.of(3L, 1L), 200)).thenReturn(Arrays.asList(null, first));
+        when(userMapper.toDTO(first)).thenReturn(firstDto);
+
+        UserBatchResponseDTO result = userService.getUsersByIds(List.of(3L, 1L, 7L, 1L), id -> id != 7L);
+
+        assertEquals(List.of(3L, 1L, 7L, 1L), result.results().stream().map(UserBatchEntryDTO::id).toList());
+        assertEquals(List.of(UserBatchEntryDTO.Status.NOT_FOUND, UserBatchEntryDTO.Status.FOUND,
+                        UserBatchEntryDTO.Status.FORBIDDEN, UserBatchEntryDTO.Status.FOUND),
+                result.results().stream().map(UserBatchEntryDTO::status).toList());
+        assertEquals(firstDto, result.results().get(3).user());
+        assertNull(result.results().get(2).user());
+    }
+
+    @Test
+    void testGetUsersByIds_TooManyIds() {
+        userBatchProperties.setMaxIds(2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersByIds(List.of(1L, 2L, 3L), id -> true));
+        verify(userRepository, never()).findAllByIdInOrder(anyList(), anyInt());
+    }
+
+    @Test
+    void testGetUsersByIds_AllForbiddenRunsNoQuery() {
+        UserBatchResponseDTO result = userService.getUsersByIds(List.of(4L, 5L), id -> false);
+
+        assertTrue(result.results().stream().allMatch(e -> e.status() == UserBatchEntryDTO.Status.FORBIDDEN));
+        verify(userRepository, never()).findAllByIdInOrder(anyList(), anyInt());
+    }
+
+    // ------------------- SPARSE FIELDS -------------------
+    @Test
+    void testGetUserFieldsById_NotFound() {
+        when(userRepository.findFieldsById(99L, EnumSet.of(UserField.ID))).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> userService.getUserFieldsById(99L, EnumSet.of(UserField.ID)));
+    }
+
+    @Test
+    void testGetUserFieldsSlice_ReadsOneExtraRowInsteadOfCounting() {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.USERNAME);
+        UserFilter filter = UserFilter.of(null, null, null, null);
+        List<Map<String, Object>> rows = List.of(
+                Map.of("id", 3L, "username", "c"), Map.of("id", 2L, "username", "b"), Map.of("id", 1L, "username", "a"));
+        when(userRepository.findFields(any(), any(Sort.class), eq(2L), eq(3), eq(fields))).thenReturn(rows);
+
+        SlicePageDTO<Map<String, Object>> result = userService.getUserFieldsSlice(filter, fields, 1, 2, false);
+
+        assertEquals(rows.subList(0, 2), result.content());
+        assertTrue(result.hasNext());
+        assertNull(result.approximateTotal());
+        verifyNoInteractions(userCountEstimator);
+    }
+
     // ------------------- PATCH UPDATE USER -------------------
     @Test
     void testPatchUpdateUser() {
@@ -129,6 +257,7 @@ public class UserServiceTest {
 
         assertEquals("newName", res.username());
         assertEquals(30, res.age());
+        verify(userDetailsCache).evict(user.getEmail());
     }
 
     // ------------------- UPDATE USER BY ADMIN -------------------
@@ -204,4 +333,197 @@ public class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () -> userService.deleteUserByAdmin(id, token));
     }
 
+    // ------------------- LOGIN -------------------
+    private AuthRequestDTO loginRequest(String password) {
+        AuthRequestDTO request = new AuthRequestDTO();
+        request.setEmail("john@mail.com");
+        request.setPassword(password);
+        return request;
+    }
+
+    private UserCredentialsRow loginUser(boolean active) {
+        return new UserCredentialsRow(7L, "john@mail.com", "HASH", Role.USER, active);
+    }
+
+    @Test
+    void testLogin_SingleLookup() {
+        when(userRepository.findCredentialsByEmail("john@mail.com")).thenReturn(Optional.of(loginUser(true)));
+        when(passwordEncoder.matches("secret", "HASH")).thenReturn(true);
+        when(jwtService.generateToken("john@mail.com", 7L, "USER")).thenReturn("TOKEN");
+        when(refreshTokenService.issue(7L)).thenReturn("REFRESH");
+
+        AuthResponseDTO response = userService.login(loginRequest("secret"));
+
+        assertEquals("TOKEN", response.getToken());
+        assertEquals("REFRESH", response.getRefreshToken());
+        assertEquals(7L, response.getUserId());
+        verify(userRepository, times(1)).findCredentialsByEmail("john@mail.com");
+    }
+
+    @Test
+    void testLogin_WrongPassword() {
+        when(userRepository.findCredentialsByEmail("john@mail.com")).thenReturn(Optional.of(loginUser(true)));
+        when(passwordEncoder.matches("wrong", "HASH")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> userService.login(loginRequest("wrong")));
+        verify(jwtService, never()).generateToken(any(), any(), any());
+        verify(loginThrottle).recordFailure("john@mail.com");
+    }
+
+    @Test
+    void testLogin_InactiveUser_SkipsPasswordCheck() {
+        when(userRepository.findCredentialsByEmail("john@mail.com")).thenReturn(Optional.of(loginUser(false)));
+
+        assertThrows(IllegalStateException.class, () -> userService.login(loginRequest("secret")));
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void testLogin_UserNotFound() {
+        when(userRepository.findCredentialsByEmail("john@mail.com")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> userService.login(loginRequest("secret")));
+        verify(loginThrottle).rememberMissing(eq("john@mail.com"), anyLong());
+    }
+
+    @Test
+    void testLogin_KnownMissingEmail_SkipsLookup() {
+        when(loginThrottle.isKnownMissing("john@mail.com")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.login(loginRequest("secret")));
+        verify(userRepository, never()).findCredentialsByEmail(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void testLogin_Throttled_SkipsLookup() {
+        doThrow(new TooManyLoginAttemptsException("Too many", 30))
+                .when(loginThrottle).checkAllowed(eq("john@mail.com"), any());
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> userService.login(loginRequest("secret")));
+        verify(userRepository, never()).findCredentialsByEmail(any());
+    }
+
+    // ------------------- REGISTER -------------------
+    private RegisterRequestDTO registerRequest() {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setName("john");
+        request.setEmail("john@mail.com");
+        request.setPassword("secret1");
+        request.setAge(25);
+        return request;
+    }
+
+    @Test
+    void testRegister_NewEmail_SkipsExistsQuery() {
+        when(registeredEmailFilter.mightContain("john@mail.com")).thenReturn(false);
+        when(passwordEncoder.encode("secret1")).thenReturn("HASH");
+
+        userService.registerUser(registerRequest());
+
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository).save(any(UserEntity.class));
+        verify(registeredEmailFilter).add("john@mail.com");
+        verify(userStatsCounters).added(any(UserEntity.class));
+    }
+
+    @Test
+    void testRegister_KnownDuplicate_RejectedBeforeHashing() {
+        when(registeredEmailFilter.mightContain("john@mail.com")).thenReturn(true);
+        when(userRepository.existsByEmail("john@mail.com")).thenReturn(true);
+
+        assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(registerRequest()));
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testRegister_ConcurrentDuplicate_TranslatedFromUniqueIndex() {
+        when(registeredEmailFilter.mightContain("john@mail.com")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new DuplicateKeyException("Duplicate entry"));
+
+        assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(registerRequest()));
+        verify(registeredEmailFilter, never()).add(any());
+    }
+
+    @Test
+    void testRegister_OtherIntegrityError_Propagates() {
+        when(registeredEmailFilter.mightContain("john@mail.com")).thenReturn(false);
+        when(userRepository.save(any(UserEntity.class))).thenThrow(new DataIntegrityViolationException("not null"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.registerUser(registerRequest()));
+    }
+
+    // ------------------- CURSOR PAGINATION -------------------
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetUsersByCursor_ReturnsNextCursorFromLastRow() {
+        LocalDateTime now = LocalDateTime.of(2025, 11, 14, 10, 30);
+        UserResponseDTO first = user(3L, now);
+        UserResponseDTO second = user(2L, now.minusMinutes(1));
+        UserResponseDTO extra = user(1L, now.minusMinutes(2));
+        when(userRepository.findSummaries(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+                .thenReturn(List.of(first, second, extra));
+
+        CursorPageDTO<UserResponseDTO> page = userService.getUsersByCursor(UserFilter.of(null, null, true, null), "", 2);
+
+        assertTrue(page.hasNext());
+        assertEquals(2, page.content().size());
+        assertEquals(new UserCursor(now.minusMinutes(1), 2L), UserCursor.decode(page.nextCursor()));
+        verify(userRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetUsersByCursor_LastPageHasNoCursor() {
+        when(userRepository.findSummaries(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+                .thenReturn(List.of(user(1L, LocalDateTime.now())));
+
+        String cursor = new UserCursor(LocalDateTime.now(), 5L).encode();
+        CursorPageDTO<UserResponseDTO> page = userService.getUsersByCursor(UserFilter.of(null, null, null, null), cursor, 2);
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetUsersByCursor_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersByCursor(UserFilter.of(null, null, null, null), "not-a-cursor", 10));
+    }
+
+    // ------------------- SLICE MODE -------------------
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetUsersSlice_NoCountQuery() {
+        LocalDateTime now = LocalDateTime.now();
+        when(userRepository.findSummaries(any(Specification.class), any(Sort.class), eq(20L), eq(11)))
+                .thenReturn(List.of(user(1L, now)));
+
+        SlicePageDTO<UserResponseDTO> slice = userService.getUsersSlice(UserFilter.of(null, null, null, null), 2, 10, false);
+
+        assertFalse(slice.hasNext());
+        assertNull(slice.approximateTotal());
+        verify(userRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(userCountEstimator);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetUsersSlice_ApproximateTotalFromEstimator() {
+        LocalDateTime now = LocalDateTime.now();
+        when(userRepository.findSummaries(any(Specification.class), any(Sort.class), eq(0L), eq(3)))
+                .thenReturn(List.of(user(3L, now), user(2L, now), user(1L, now)));
+        when(userCountEstimator.estimate(UserFilter.of(" John ", null, true, null))).thenReturn(42L);
+
+        SlicePageDTO<UserResponseDTO> slice = userService.getUsersSlice(UserFilter.of("john", null, true, null), 0, 2, true);
+
+        assertTrue(slice.hasNext());
+        assertEquals(2, slice.content().size());
+        assertEquals(42L, slice.approximateTotal());
+    }
+
+    private static UserResponseDTO user(Long id, LocalDateTime createdAt) {
+        return new UserResponseDTO(id, "user" + id, "user" + id + "@mail.com", 30, createdAt);
+    }
 }
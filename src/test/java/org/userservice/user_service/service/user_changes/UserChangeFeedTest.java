@@ -0,0 +1,148 @@
+package org.userservice.user_service.service.user_changes;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.userservice.user_service.dto.response.user_changes.UserChangeDTO;
+import org.userservice.user_service.dto.response.user_changes.UserChangesPageDTO;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.UserChangesProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.UserTombstoneRepository;
+import org.userservice.user_service.spec.UserChangeCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserChangeFeedTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserChangeFeed feed;
+
+    @BeforeEach
+    void setup() {
+        UserChangesProperties properties = new UserChangesProperties();
+        // Nothing commits late inside a single test transaction
+        properties.setSettleTime(Duration.ZERO);
+        feed = new UserChangeFeed(userRepository, tombstoneRepository, properties, transactionManager);
+
+        userRepository.saveAll(List.of(user("alice"), user("bob"), user("carol")));
+        entityManager.flush();
+    }
+
+    @Test
+    void testChangesSince_PagesThroughUpsertsThenDelete() {
+        UserChangesPageDTO first = feed.changesSince(null, 2);
+        assertEquals(2, first.changes().size());
+        assertTrue(first.hasMore());
+
+        UserChangesPageDTO second = feed.changesSince(first.nextCursor(), 2);
+        assertEquals(1, second.changes().size());
+        assertFalse(second.hasMore());
+
+        UserEntity bob = userRepository.findByEmail("bob@example.com").orElseThrow();
+        userRepository.delete(bob);
+        feed.recordDeletion(bob.getId());
+        entityManager.flush();
+
+        UserChangesPageDTO third = feed.changesSince(second.nextCursor(), 2);
+        assertEquals(1, third.changes().size());
+        UserChangeDTO delete = third.changes().get(0);
+        assertEquals(UserChangeDTO.Type.DELETE, delete.type());
+        assertEquals(bob.getId(), delete.id());
+        assertNull(delete.email());
+    }
+
+    @Test
+    void testChangesSince_UpdateMovesUserToTheEnd() {
+        UserChangesPageDTO all = feed.changesSince(null, 10);
+        assertEquals(3, all.changes().size());
+
+        UserEntity alice = userRepository.findByEmail("alice@example.com").orElseThrow();
+        alice.setActive(false);
+        entityManager.flush();
+
+        UserChangesPageDTO next = feed.changesSince(all.nextCursor(), 10);
+        assertEquals(1, next.changes().size());
+        assertEquals("alice", next.changes().get(0).username());
+        assertEquals(Boolean.FALSE, next.changes().get(0).active());
+
+        // Nothing new: the cursor keeps its position
+        UserChangeCursor before = UserChangeCursor.decode(next.nextCursor());
+        UserChangeCursor after = UserChangeCursor.decode(feed.changesSince(next.nextCursor(), 10).nextCursor());
+        assertEquals(before.changedAt(), after.changedAt());
+        assertEquals(before.id(), after.id());
+    }
+
+    @Test
+    void testChangesSince_PagesThroughRowsOlderThanRetention() {
+        entityManager.createNativeQuery("update users set updated_at = :at")
+                .setParameter("at", LocalDateTime.now().minusDays(60))
+                .executeUpdate();
+        entityManager.clear();
+
+        UserChangesPageDTO page = feed.changesSince(null, 1);
+        int seen = page.changes().size();
+        while (page.hasMore()) {
+            page = feed.changesSince(page.nextCursor(), 1);
+            assertFalse(page.resyncRequired());
+            seen += page.changes().size();
+        }
+
+        assertEquals(3, seen);
+    }
+
+    @Test
+    void testChangesSince_QuietFeedCursorStaysSynced() {
+        UserChangesPageDTO caughtUp = feed.changesSince(null, 10);
+        UserChangeCursor cursor = UserChangeCursor.decode(caughtUp.nextCursor());
+        // The consumer saw its last change long ago and has polled an empty feed ever since
+        String quiet = new UserChangeCursor(LocalDateTime.now().minusDays(60), cursor.id(), LocalDateTime.now()).encode();
+
+        UserChangesPageDTO page = feed.changesSince(quiet, 10);
+
+        assertFalse(page.resyncRequired());
+        assertTrue(UserChangeCursor.decode(page.nextCursor()).syncedAt()
+                .isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void testChangesSince_CursorOlderThanRetentionRequiresResync() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(60);
+        String stale = new UserChangeCursor(longAgo, 1L, longAgo).encode();
+
+        UserChangesPageDTO page = feed.changesSince(stale, 10);
+
+        assertTrue(page.resyncRequired());
+        assertTrue(page.changes().isEmpty());
+    }
+
+    private static UserEntity user(String username) {
+        UserEntity user = new UserEntity();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        user.setAge(30);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
@@ -1,12 +1,16 @@
 package org.userservice.user_service.service.user_details;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.AuthProperties;
 import org.userservice.user_service.repository.UserRepository;
 
 import java.util.Optional;
@@ -19,13 +23,18 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
     @InjectMocks
     private CustomUserDetailsService service;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        service = new CustomUserDetailsService(userRepository);
+        AuthProperties authProperties = new AuthProperties();
+        service = new CustomUserDetailsService(userRepository, new UserDetailsCache(authProperties, new SimpleMeterRegistry()),
+                passwordEncoder);
     }
 
     @Test
@@ -47,6 +56,21 @@ class CustomUserDetailsServiceTest {
         assertTrue(details.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
     }
 
+    @Test
+    void testLoadUserByUsername_CachedUntilEvicted() {
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        user.setEmail("user@test.com");
+        user.setPassword("encoded");
+        user.setRole(Role.USER);
+
+        when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        service.loadUserByUsername("user@test.com");
+        service.loadUserByUsername("user@test.com");
+        verify(userRepository, times(1)).findByEmail("user@test.com");
+    }
+
     @Test
     void testLoadUserByUsername_NotFound() {
         when(userRepository.findByEmail("notfound@test.com")).thenReturn(Optional.empty());
@@ -60,5 +84,6 @@ class CustomUserDetailsServiceTest {
         assertNotNull(encoded);
         assertNotEquals(raw, encoded); // BCrypt hashes are different from raw
         assertTrue(encoded.startsWith("$2a$") || encoded.startsWith("$2b$"));
+        verify(passwordEncoder).encode(raw); // the shared encoder bean, not a private instance
     }
 }
@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 import org.userservice.user_service.entity.Role;
 import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.service.jwt.JwtClaims;
 
 import java.util.Collection;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,4 +36,15 @@ public class CustomUserDetailsTest {
         assertTrue(details.isCredentialsNonExpired());
         assertTrue(details.isEnabled());
     }
+
+    @Test
+    void testCustomUserDetailsFromClaims() {
+        CustomUserDetails details = new CustomUserDetails(new JwtClaims("admin@example.com", 7L, "admin", new Date()));
+
+        assertEquals(7L, details.getId());
+        assertEquals("admin@example.com", details.getUsername());
+        assertNull(details.getPassword());
+        assertEquals(Role.ADMIN, details.getRole());
+        assertTrue(details.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
 }
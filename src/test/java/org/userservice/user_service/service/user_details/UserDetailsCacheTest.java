@@ -0,0 +1,82 @@
+package org.userservice.user_service.service.user_details;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.AuthProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        user.setEmail(email);
+        user.setRole(Role.USER);
+        return new CustomUserDetails(user);
+    };
+
+    @Test
+    void testGet_LoadsOnceThenHits() {
+        UserDetailsCache cache = new UserDetailsCache(new AuthProperties(), new SimpleMeterRegistry());
+
+        cache.get("a@test.com", loader);
+        cache.get("a@test.com", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEvict_ForcesReload() {
+        UserDetailsCache cache = new UserDetailsCache(new AuthProperties(), new SimpleMeterRegistry());
+
+        cache.get("a@test.com", loader);
+        cache.evict("a@test.com");
+        cache.get("a@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvict_IgnoresEmailCase() {
+        UserDetailsCache cache = new UserDetailsCache(new AuthProperties(), new SimpleMeterRegistry());
+
+        cache.get("A@Test.com", loader);
+        cache.get("a@test.com", loader);
+        cache.evict(" a@TEST.com");
+        cache.get("a@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDisabled_AlwaysLoads() {
+        AuthProperties properties = new AuthProperties();
+        properties.getUserCache().setEnabled(false);
+        UserDetailsCache cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+
+        cache.get("a@test.com", loader);
+        cache.get("a@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMetricsRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserDetailsCache cache = new UserDetailsCache(new AuthProperties(), registry);
+
+        cache.get("a@test.com", loader);
+
+        assertNotNull(registry.find("cache.gets").tag("cache", "userDetails").meter());
+    }
+}
@@ -0,0 +1,86 @@
+package org.userservice.user_service.service.user_export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Sort;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserTrigramIndex userTrigramIndex;
+
+    private UserExportService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new UserExportService(userRepository, userTrigramIndex, objectMapper);
+        when(userTrigramIndex.specificationsFor(any(UserFilter.class))).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    void testExport_NdjsonOneObjectPerLine() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamSummaries(any(), any(Sort.class))).thenReturn(Stream.of(
+                new UserResponseDTO(2L, "bob", "bob@example.com", 31, CREATED),
+                new UserResponseDTO(1L, "alice", "alice@example.com", null, CREATED)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(UserFilter.of(null, null, null, null), UserExportFormat.NDJSON, out);
+
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"username\":\"bob\""));
+        assertTrue(lines[0].contains("\"createdAt\":\"2025-01-02T03:04:05\""));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExport_CsvQuotesAndNeutralizesFormulas() throws Exception {
+        when(userRepository.streamSummaries(any(), any(Sort.class))).thenReturn(Stream.of(
+                new UserResponseDTO(1L, "=cmd|x", "a,b@example.com", 20, CREATED)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(UserFilter.of("cmd", null, null, null), UserExportFormat.CSV, out);
+
+        assertEquals("id,username,email,age,createdAt\r\n"
+                        + "1,'=cmd|x,\"a,b@example.com\",20,2025-01-02T03:04:05\r\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(userTrigramIndex).specificationsFor(UserFilter.of("cmd", null, null, null));
+    }
+
+    @Test
+    void testFromParameter_RejectsUnknownFormat() {
+        assertEquals(UserExportFormat.NDJSON, UserExportFormat.fromParameter(null));
+        assertEquals(UserExportFormat.CSV, UserExportFormat.fromParameter("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> UserExportFormat.fromParameter("xml"));
+    }
+}
@@ -0,0 +1,53 @@
+package org.userservice.user_service.service.user_import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTest {
+
+    @Test
+    void testSplitCsvLine_QuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                UserImportReader.splitCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void testCsv_MapsColumnsByHeader() throws IOException {
+        try (UserImportReader reader = reader("\uFEFFemail,age,name,password\nj@test.com,31,Jane,secret1\n", UserImportFormat.CSV)) {
+            UserImportReader.Row row = reader.next();
+
+            assertNull(row.error());
+            assertEquals("Jane", row.request().getName());
+            assertEquals("j@test.com", row.request().getEmail());
+            assertEquals(31, row.request().getAge());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testCsv_BadAgeIsRowError() throws IOException {
+        try (UserImportReader reader = reader("name,email,password,age\nJane,j@test.com,secret1,old\n", UserImportFormat.CSV)) {
+            UserImportReader.Row row = reader.next();
+
+            assertEquals(1, row.number());
+            assertEquals("Invalid age: old", row.error());
+        }
+    }
+
+    @Test
+    void testCsv_MissingColumn_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reader("name,password\n", UserImportFormat.CSV));
+    }
+
+    private static UserImportReader reader(String body, UserImportFormat format) throws IOException {
+        return new UserImportReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+    }
+}
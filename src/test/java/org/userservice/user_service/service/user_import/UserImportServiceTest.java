@@ -0,0 +1,176 @@
+package org.userservice.user_service.service.user_import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.userservice.user_service.dto.response.user_import.UserImportResultDTO;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.PasswordHashingProperties;
+import org.userservice.user_service.properties.UserImportProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.registration.RegisteredEmailFilter;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.service.throttle.LoginThrottle;
+import org.userservice.user_service.service.user_list.UserListCache;
+import org.userservice.user_service.service.user_stats.UserStatsCounters;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private StatelessSession session;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private UserTrigramIndex userTrigramIndex;
+
+    @Mock
+    private UserListCache userListCache;
+
+    @Mock
+    private UserStatsCounters userStatsCounters;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.openStatelessSession()).thenReturn(session);
+        when(session.beginTransaction()).thenReturn(transaction);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hashed-" + inv.getArgument(0));
+
+        UserImportProperties properties = new UserImportProperties();
+        properties.setChunkSize(2);
+        properties.setHashParallelism(2);
+
+        userImportService = new UserImportService(userRepository, passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(),
+                entityManagerFactory, registeredEmailFilter, loginThrottle, userTrigramIndex, userListCache, userStatsCounters,
+                properties, new PasswordHashingProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    void testImportNdjson_ReportsBadRowsAndImportsTheRest() {
+        // Carol reuses Alice's email in a later chunk, by then Alice is in the filter and the DB
+        when(registeredEmailFilter.mightContain("ALICE@test.com")).thenReturn(true);
+        when(userRepository.findExistingEmailNorms(List.of("alice@test.com"))).thenReturn(List.of("alice@test.com"));
+        String body = """
+                {"name":"Alice","email":"alice@test.com","password":"secret1","age":30}
+                not json
+                {"name":"Bob","email":"bob@test.com","password":"123","age":30}
+
+                {"name":"Carol","email":"ALICE@test.com","password":"secret1","age":30}
+                {"name":"Dave","email":"dave@test.com","password":"secret1","age":40}
+                """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(body), UserImportFormat.NDJSON);
+
+        assertEquals(5, result.rows());
+        assertEquals(2, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(2L, 3L, 4L), result.failures().stream().map(f -> f.row()).toList());
+        assertTrue(result.failures().get(0).reason().startsWith("Malformed JSON"));
+        assertEquals("Password must be at least 6 characters long", result.failures().get(1).reason());
+        assertEquals("Email already registered", result.failures().get(2).reason());
+        verify(session, times(2)).insert(any(UserEntity.class));
+        verify(passwordEncoder, never()).encode("123");
+        verify(registeredEmailFilter).add("alice@test.com");
+        verify(loginThrottle).forgetMissing("dave@test.com");
+    }
+
+    @Test
+    void testImportCsv_SkipsTakenEmails() {
+        when(registeredEmailFilter.mightContain("taken@test.com")).thenReturn(true);
+        when(userRepository.findExistingEmailNorms(List.of("taken@test.com"))).thenReturn(List.of("taken@test.com"));
+        String body = """
+                username,email,password,age
+                "Doe, Jane",jane@test.com,secret1,25
+                Taken,taken@test.com,secret1,25
+                """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(body), UserImportFormat.CSV);
+
+        assertEquals(1, result.imported());
+        assertEquals("Email already registered", result.failures().get(0).reason());
+        verify(session).insert(argThat((UserEntity user) -> "Doe, Jane".equals(user.getUsername())));
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void testImport_BatchFailureRetriesRowByRow() {
+        ConstraintViolationException duplicate = new ConstraintViolationException(
+                "duplicate", new SQLException("duplicate", "23505"), "uk_email");
+        doThrow(duplicate).when(session).insert(argThat((UserEntity user) -> "raced@test.com".equals(user.getEmail())));
+        String body = """
+                {"name":"Alice","email":"alice@test.com","password":"secret1","age":30}
+                {"name":"Raced","email":"raced@test.com","password":"secret1","age":30}
+                """;
+
+        UserImportResultDTO result = userImportService.importUsers(stream(body), UserImportFormat.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals("Email already registered", result.failures().get(0).reason());
+        verify(transaction, times(1)).commit();
+    }
+
+    @Test
+    void testHashParallelism_LeavesHashingSlotsForLogins() {
+        UserImportProperties properties = new UserImportProperties();
+
+        assertEquals(4, UserImportService.hashParallelism(properties, 8));
+        assertEquals(1, UserImportService.hashParallelism(properties, 1));
+
+        properties.setHashParallelism(16);
+        assertEquals(7, UserImportService.hashParallelism(properties, 8));
+        properties.setHashParallelism(2);
+        assertEquals(2, UserImportService.hashParallelism(properties, 8));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package org.userservice.user_service.service.user_list;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.jpa.domain.Specification;
+import org.userservice.user_service.properties.UserListProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.service.search.UserTrigramIndex;
+import org.userservice.user_service.spec.UserFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserCountEstimatorTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserTrigramIndex userTrigramIndex;
+
+    private UserCountEstimator estimator;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userTrigramIndex.specificationsFor(any(UserFilter.class)))
+                .thenAnswer(inv -> inv.<UserFilter>getArgument(0).toSpecifications());
+        estimator = new UserCountEstimator(userRepository, userTrigramIndex, new UserListProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEstimate_CountsOncePerFilterShape() {
+        when(userRepository.count(any(Specification.class))).thenReturn(7L);
+
+        assertEquals(7L, estimator.estimate(UserFilter.of("john", null, true, null)));
+        assertEquals(7L, estimator.estimate(UserFilter.of(" JOHN ", "", true, null)));
+
+        verify(userRepository, times(1)).count(any(Specification.class));
+    }
+}
@@ -0,0 +1,108 @@
+package org.userservice.user_service.service.user_list;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.userservice.user_service.dto.response.user.UserResponseDTO;
+import org.userservice.user_service.properties.UserListProperties;
+import org.userservice.user_service.spec.UserFilter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserListCacheTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private UserListCache cache;
+    private AtomicInteger loads;
+    private AtomicBoolean fromReplica;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setup() {
+        loads = new AtomicInteger();
+        fromReplica = new AtomicBoolean();
+        now = new AtomicLong();
+        cache = cache(new UserListProperties());
+    }
+
+    @Test
+    void testGet_SameNormalizedQueryLoadsOnce() {
+        cache.get(UserFilter.of("John", null, true, null), 0, 10, this::load);
+        cache.get(UserFilter.of(" john ", "", true, null), 0, 10, this::load);
+        cache.get(UserFilter.of("john", null, true, null), 1, 10, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidate_ClearsEveryPage() {
+        UserFilter filter = UserFilter.of(null, null, null, null);
+        cache.get(filter, 0, 10, this::load);
+
+        // No transaction is active, so the write counts as committed immediately
+        cache.invalidate();
+        cache.get(filter, 0, 10, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_PageLoadedDuringWriteIsNotStored() {
+        UserFilter filter = UserFilter.of(null, null, null, null);
+        cache.get(filter, 0, 10, () -> {
+            cache.invalidate();
+            return load();
+        });
+        cache.get(filter, 0, 10, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_DisabledAlwaysLoads() {
+        UserListProperties properties = new UserListProperties();
+        properties.getResultCache().setEnabled(false);
+        cache = cache(properties);
+        UserFilter filter = UserFilter.of(null, null, null, null);
+
+        cache.get(filter, 0, 10, this::load);
+        cache.get(filter, 0, 10, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_ReplicaPageRightAfterWriteIsNotStored() {
+        fromReplica.set(true);
+        UserFilter filter = UserFilter.of(null, null, null, null);
+        cache.invalidate();
+
+        cache.get(filter, 0, 10, this::load);
+        cache.get(filter, 0, 10, this::load);
+        assertEquals(2, loads.get());
+
+        // Past the lag window the replica has the write, so its page may be kept
+        now.addAndGet(MAX_LAG.toNanos());
+        cache.get(filter, 0, 10, this::load);
+        cache.get(filter, 0, 10, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    private UserListCache cache(UserListProperties properties) {
+        return new UserListCache(properties, MAX_LAG, fromReplica::get, now::get, new SimpleMeterRegistry());
+    }
+
+    private Page<UserResponseDTO> load() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(new UserResponseDTO(1L, "john", "john@example.com", 30, null)));
+    }
+}
@@ -0,0 +1,90 @@
+package org.userservice.user_service.service.user_stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.userservice.user_service.dto.response.user_stats.UserStatsDTO;
+import org.userservice.user_service.entity.Role;
+import org.userservice.user_service.entity.UserEntity;
+import org.userservice.user_service.properties.UserStatsProperties;
+import org.userservice.user_service.repository.UserRepository;
+import org.userservice.user_service.repository.projection.UserStatsRow;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserStatsCountersTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatsCounters counters;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.countByRoleActiveAndAge()).thenReturn(List.of(
+                new UserStatsRow(Role.USER, true, 20, 3L),
+                new UserStatsRow(Role.USER, false, 40, 1L),
+                new UserStatsRow(Role.ADMIN, true, 70, 2L)));
+        counters = new UserStatsCounters(userRepository, new UserStatsProperties());
+        counters.reconcile();
+    }
+
+    @Test
+    void testSnapshot_SeededFromAggregate() {
+        UserStatsDTO stats = counters.snapshot();
+
+        assertEquals(6, stats.total());
+        assertEquals(5, stats.active());
+        assertEquals(1, stats.blacklisted());
+        assertEquals(2L, stats.byRole().get("ADMIN"));
+        assertEquals(3L, stats.byAgeGroup().get("under-25"));
+        assertEquals(1L, stats.byAgeGroup().get("35-44"));
+        assertEquals(2L, stats.byAgeGroup().get("65+"));
+        assertNotNull(stats.reconciledAt());
+    }
+
+    @Test
+    void testWrites_AdjustCountersWithoutQuery() {
+        // No transaction is active, so each change applies immediately
+        UserEntity user = user(Role.USER, true, 30);
+        counters.added(user);
+
+        UserStatsCounters.Sample before = UserStatsCounters.Sample.of(user);
+        user.setActive(false);
+        user.setAge(50);
+        counters.changed(before, user);
+
+        UserStatsDTO stats = counters.snapshot();
+        assertEquals(7, stats.total());
+        assertEquals(2, stats.blacklisted());
+        assertEquals(0L, stats.byAgeGroup().get("25-34"));
+        assertEquals(1L, stats.byAgeGroup().get("45-54"));
+
+        counters.removed(user);
+        assertEquals(6, counters.snapshot().total());
+        verify(userRepository, times(1)).countByRoleActiveAndAge();
+    }
+
+    @Test
+    void testReconcile_ReplacesDriftedCounters() {
+        counters.added(user(Role.USER, true, 30));
+        assertEquals(7, counters.snapshot().total());
+
+        counters.reconcile();
+
+        assertEquals(6, counters.snapshot().total());
+    }
+
+    private static UserEntity user(Role role, boolean active, int age) {
+        UserEntity user = new UserEntity();
+        user.setRole(role);
+        user.setActive(active);
+        user.setAge(age);
+        return user;
+    }
+}
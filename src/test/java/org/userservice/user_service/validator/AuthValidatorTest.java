@@ -0,0 +1,86 @@
+package org.userservice.user_service.validator;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.userservice.user_service.exception.UnauthorizedAccessException;
+import org.userservice.user_service.service.jwt.JwtClaims;
+import org.userservice.user_service.service.jwt.JwtService;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthValidatorTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private HttpServletRequest request;
+
+    private AuthValidator authValidator;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        authValidator = new AuthValidator(jwtService);
+    }
+
+    @Test
+    void testIsAdmin_UsesClaimsFromFilter() {
+        when(request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE))
+                .thenReturn(new JwtClaims("admin@test.com", 1L, "ADMIN", new Date()));
+
+        assertTrue(authValidator.isAdmin(request));
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void testIsAuthorized_OwnUser() {
+        when(request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE))
+                .thenReturn(new JwtClaims("user@test.com", 5L, "USER", new Date()));
+
+        assertTrue(authValidator.isAuthorized(request, 5L));
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void testIsAuthorized_OtherUser_Throws() {
+        when(request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE))
+                .thenReturn(new JwtClaims("user@test.com", 5L, "USER", new Date()));
+
+        assertThrows(UnauthorizedAccessException.class, () -> authValidator.isAuthorized(request, 6L));
+    }
+
+    @Test
+    void testCanAccess_AdminAnyUserOtherwiseOwnOnly() {
+        JwtClaims user = new JwtClaims("user@test.com", 5L, "USER", new Date());
+        JwtClaims admin = new JwtClaims("admin@test.com", 1L, "ADMIN", new Date());
+
+        assertTrue(authValidator.canAccess(user, 5L));
+        assertFalse(authValidator.canAccess(user, 6L));
+        assertTrue(authValidator.canAccess(admin, 6L));
+    }
+
+    @Test
+    void testCurrentClaims_FallsBackToHeaderOnce() {
+        JwtClaims claims = new JwtClaims("user@test.com", 5L, "USER", new Date());
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtService.parseClaims("token")).thenReturn(claims);
+
+        assertEquals(claims, authValidator.currentClaims(request));
+        verify(jwtService, times(1)).parseClaims("token");
+        verify(request).setAttribute(JwtClaims.REQUEST_ATTRIBUTE, claims);
+    }
+
+    @Test
+    void testCurrentClaims_MissingHeader_Throws() {
+        when(request.getHeader("Authorization")).thenReturn(null);
+
+        assertThrows(UnauthorizedAccessException.class, () -> authValidator.currentClaims(request));
+    }
+}